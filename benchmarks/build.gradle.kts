@@ -0,0 +1,27 @@
+plugins {
+    id("buildlogic.java-conventions")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+dependencies {
+    jmh(project(":common"))
+    jmh(libs.io.netty.netty.all)
+    jmh(libs.com.google.guava.guava)
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // Allocation rates are reported next to throughput and latency
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
+
+tasks {
+    // Benchmarks are not part of the published API
+    withType<AbstractPublishToMaven>().configureEach {
+        enabled = false
+    }
+}
+
+group = "dev.thomazz.pledge"
+description = "benchmarks"
@@ -0,0 +1,237 @@
+package dev.thomazz.pledge.benchmark;
+
+import dev.thomazz.pledge.Pledge;
+import dev.thomazz.pledge.event.EventProvider;
+import dev.thomazz.pledge.event.PingSendListener;
+import dev.thomazz.pledge.network.queue.PacketFiltering;
+import dev.thomazz.pledge.packet.BundleProvider;
+import dev.thomazz.pledge.packet.PingPacketCache;
+import dev.thomazz.pledge.packet.PingPacketProvider;
+import dev.thomazz.pledge.pinger.ClientPinger;
+import dev.thomazz.pledge.pinger.ClientPingerImpl;
+import dev.thomazz.pledge.pinger.frame.FrameClientPinger;
+import dev.thomazz.pledge.pinger.frame.FrameClientPingerImpl;
+import dev.thomazz.pledge.util.MinecraftReflectionProvider;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Minimal platform implementation without a server, players are backed by embedded channels.
+ */
+public class BenchmarkPledge implements Pledge<UUID> {
+    private final Logger logger = Logger.getLogger("Pledge-Benchmark");
+    private final Map<UUID, Channel> channels = new HashMap<>();
+    private final PingPacketProvider packetProvider = new PingPacketCache(new PingProvider());
+    private final EventProvider eventProvider = new EventProvider() {
+        @Override
+        public boolean hasPongListeners() {
+            return false;
+        }
+
+        @Override
+        public boolean callPongReceive(UUID player, int id, boolean validated) {
+            return validated;
+        }
+
+        @Override
+        public boolean hasPingSendListeners() {
+            return false;
+        }
+
+        @Override
+        public void callPingSend(UUID player, int id) {
+        }
+    };
+    private final MinecraftReflectionProvider reflectionProvider = new ReflectionProvider();
+    private final PacketFiltering packetFilter;
+
+    private BundleProvider bundleProvider = player -> {};
+
+    public BenchmarkPledge() {
+        this.packetFilter = new PacketFiltering(this);
+    }
+
+    /**
+     * Creates a channel for a new player, with a pipeline that discards all outbound messages.
+     * <p>
+     * @return - Player ID of the channel
+     */
+    public UUID createPlayer() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline()
+                .addLast("discard", new DiscardHandler())
+                .addLast("prepender", new ChannelOutboundHandlerAdapter());
+
+        UUID player = UUID.randomUUID();
+        this.channels.put(player, channel);
+        return player;
+    }
+
+    @Override
+    public boolean cancelPongs() {
+        return false;
+    }
+
+    @Override
+    public void cancelPongs(boolean cancelPongs) {
+    }
+
+    @Override
+    public void tickEvents(boolean tickEvents) {
+    }
+
+    @Override
+    public void pingEvents(boolean pingEvents) {
+    }
+
+    @Override
+    public void sendPing(@NotNull UUID player, int id) {
+        this.getChannel(player).ifPresent(channel -> this.sendPingRaw(player, channel, id));
+    }
+
+    @Override
+    public void sendPingRaw(@NotNull UUID player, @NotNull Channel channel, int pingId) {
+        try {
+            channel.write(this.packetProvider.buildPacket(pingId), channel.voidPromise());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public void attach(@NotNull PingSendListener listener) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<Channel> getChannel(@NotNull UUID player) {
+        return Optional.ofNullable(this.channels.get(player));
+    }
+
+    @Override
+    public ClientPinger<UUID> createPinger(int startId, int endId) {
+        return new ClientPingerImpl<>(this, startId, endId);
+    }
+
+    @Override
+    public FrameClientPinger<UUID> createFramePinger(int startId, int endId) {
+        return new FrameClientPingerImpl<>(this, startId, endId);
+    }
+
+    @Override
+    public PingPacketProvider getPacketProvider() {
+        return this.packetProvider;
+    }
+
+    @Override
+    public Logger logger() {
+        return this.logger;
+    }
+
+    @Override
+    public void destroy() {
+        this.channels.values().forEach(Channel::close);
+        this.channels.clear();
+    }
+
+    @Override
+    public BundleProvider bundleProvider() {
+        return this.bundleProvider;
+    }
+
+    @Override
+    public void bundleProvider(BundleProvider bundleProvider) {
+        this.bundleProvider = bundleProvider;
+    }
+
+    @Override
+    public EventProvider eventProvider() {
+        return this.eventProvider;
+    }
+
+    @Override
+    public MinecraftReflectionProvider getReflectionProvider() {
+        return this.reflectionProvider;
+    }
+
+    @Override
+    public PacketFiltering getPacketFilter() {
+        return this.packetFilter;
+    }
+
+    @Override
+    public UUID asUUID(UUID player) {
+        return player;
+    }
+
+    // Regular game packet that is queued by Pledge
+    public static final class Packet {
+    }
+
+    public static final class Ping {
+        private final int id;
+
+        public Ping(int id) {
+            this.id = id;
+        }
+    }
+
+    private static final class PingProvider implements PingPacketProvider {
+        @Override
+        public Object buildPacket(int id) {
+            return new Ping(id);
+        }
+
+        @Override
+        public int idFromPong(Object packet) {
+            return ((Ping) packet).id;
+        }
+
+        @Override
+        public boolean isPong(Object packet) {
+            return packet instanceof Ping;
+        }
+
+        @Override
+        public int getLowerBound() {
+            return Integer.MIN_VALUE + 1;
+        }
+
+        @Override
+        public int getUpperBound() {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static final class ReflectionProvider implements MinecraftReflectionProvider {
+        @Override
+        public String getCraftBukkitPackage() {
+            return "org.bukkit.craftbukkit";
+        }
+
+        @Override
+        public Object getNMSServer() throws ReflectiveOperationException {
+            throw new ClassNotFoundException("No server in benchmarks");
+        }
+    }
+
+    // Stands in for the network, so queued messages do not pile up in the embedded channel
+    public static final class DiscardHandler extends ChannelOutboundHandlerAdapter {
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            ReferenceCountUtil.release(msg);
+            promise.trySuccess();
+        }
+    }
+}
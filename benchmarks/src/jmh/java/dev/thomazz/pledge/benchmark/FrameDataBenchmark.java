@@ -0,0 +1,61 @@
+package dev.thomazz.pledge.benchmark;
+
+import dev.thomazz.pledge.pinger.frame.data.Frame;
+import dev.thomazz.pledge.pinger.frame.data.FrameData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameDataBenchmark {
+    // Amount of frames waiting for their pongs
+    @Param({"1", "16"})
+    public int outstanding;
+
+    private FrameData data;
+    private int nextId;
+    private int oldestId;
+
+    @Setup
+    public void setup() {
+        this.data = new FrameData();
+
+        for (int i = 1; i < this.outstanding; i++) {
+            this.sendFrame();
+        }
+    }
+
+    // Creates, sends and receives a frame
+    @Benchmark
+    public void frameCycle(Blackhole blackhole) {
+        this.sendFrame();
+
+        Frame start = this.data.matchStart(this.oldestId++);
+        Frame end = this.data.matchEnd(this.oldestId++);
+        blackhole.consume(start);
+        blackhole.consume(end);
+
+        this.data.popFrame();
+    }
+
+    private void sendFrame() {
+        this.data.getCurrentFrame().set(this.data.createFrame(this.nextId++, this.nextId++));
+        this.data.continueFrame();
+    }
+}
@@ -0,0 +1,99 @@
+package dev.thomazz.pledge.benchmark;
+
+import dev.thomazz.pledge.pinger.ClientPingerRegistry;
+import dev.thomazz.pledge.pinger.frame.FrameClientPingerImpl;
+import dev.thomazz.pledge.pinger.frame.data.Frame;
+import io.netty.channel.Channel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full server tick of a frame pinger: packets queued during the tick, frames created,
+ * pings wrapped around the queue at tick end and the pongs of every frame received.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameTickBenchmark {
+    @Param({"1", "100", "1000"})
+    public int players;
+
+    // Packets sent to each player every tick
+    @Param({"0", "16"})
+    public int packets;
+
+    private final Object packet = new BenchmarkPledge.Packet();
+
+    private BenchmarkPledge pledge;
+    private FrameClientPingerImpl<UUID> pinger;
+    private ClientPingerRegistry<UUID> registry;
+
+    private UUID[] playerIds;
+    private Channel[] channels;
+    private int[] startIds;
+    private int[] endIds;
+
+    @Setup
+    public void setup() {
+        this.pledge = new BenchmarkPledge();
+        this.pinger = new FrameClientPingerImpl<>(this.pledge, 0, -30000);
+        this.registry = new ClientPingerRegistry<>(this.pledge);
+        this.registry.addPinger(this.pinger);
+
+        this.playerIds = new UUID[this.players];
+        this.channels = new Channel[this.players];
+        this.startIds = new int[this.players];
+        this.endIds = new int[this.players];
+
+        for (int i = 0; i < this.players; i++) {
+            UUID player = this.pledge.createPlayer();
+            this.playerIds[i] = player;
+            this.channels[i] = this.pledge.getChannel(player).orElseThrow(IllegalStateException::new);
+            this.registry.registerPlayer(player, this.channels[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pledge.destroy();
+    }
+
+    @Benchmark
+    public void tick() {
+        for (int i = 0; i < this.players; i++) {
+            Channel channel = this.channels[i];
+            for (int j = 0; j < this.packets; j++) {
+                channel.write(this.packet, channel.voidPromise());
+            }
+
+            Frame frame = this.pinger.getOrCreate(this.playerIds[i]);
+            this.startIds[i] = frame.getStartId();
+            this.endIds[i] = frame.getEndId();
+        }
+
+        this.registry.tickEnd();
+
+        // Client responding to the frame
+        for (int i = 0; i < this.players; i++) {
+            this.registry.receivePong(this.channels[i], this.startIds[i]);
+            this.registry.receivePong(this.channels[i], this.endIds[i]);
+            this.registry.flushPongs(this.channels[i]);
+        }
+    }
+}
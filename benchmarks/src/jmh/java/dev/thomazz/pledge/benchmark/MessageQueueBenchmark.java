@@ -0,0 +1,78 @@
+package dev.thomazz.pledge.benchmark;
+
+import dev.thomazz.pledge.network.queue.MessageQueueHandler;
+import dev.thomazz.pledge.network.queue.MessageQueuePrimer;
+import dev.thomazz.pledge.network.queue.QueueMode;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageQueueBenchmark {
+    @Param({"16", "256"})
+    public int packets;
+
+    private final Object packet = new BenchmarkPledge.Packet();
+
+    private EmbeddedChannel channel;
+    private MessageQueueHandler handler;
+    private ChannelHandlerContext context;
+
+    @Setup
+    public void setup() {
+        BenchmarkPledge pledge = new BenchmarkPledge();
+
+        this.handler = new MessageQueueHandler();
+        this.channel = new EmbeddedChannel(
+                new BenchmarkPledge.DiscardHandler(),
+                this.handler,
+                new MessageQueuePrimer(pledge, this.handler)
+        );
+
+        this.context = this.channel.pipeline().context(this.handler);
+        this.handler.setMode(QueueMode.ADD_LAST);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.channel.close();
+    }
+
+    // Queue handler on its own
+    @Benchmark
+    public void handlerWriteDrain() throws Exception {
+        for (int i = 0; i < this.packets; i++) {
+            this.handler.write(this.context, this.packet, this.channel.voidPromise());
+        }
+
+        this.handler.drain(this.context, true);
+    }
+
+    // Full outbound path through the primer and the queue handler
+    @Benchmark
+    public void primerWriteDrain() {
+        for (int i = 0; i < this.packets; i++) {
+            this.channel.write(this.packet, this.channel.voidPromise());
+        }
+
+        this.handler.drain(this.context, true);
+    }
+}
@@ -0,0 +1,66 @@
+package dev.thomazz.pledge.benchmark;
+
+import dev.thomazz.pledge.network.NetworkPacketConsolidator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.minecraft.network.protocol.game.ClientboundLoginPacket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PacketConsolidatorBenchmark {
+    @Param({"16", "256"})
+    public int packets;
+
+    private final Object packet = new BenchmarkPledge.Packet();
+
+    private EmbeddedChannel channel;
+    private NetworkPacketConsolidator consolidator;
+    private ChannelHandlerContext context;
+
+    @Setup
+    public void setup() {
+        BenchmarkPledge pledge = new BenchmarkPledge();
+
+        this.consolidator = new NetworkPacketConsolidator(pledge);
+        this.channel = new EmbeddedChannel(new BenchmarkPledge.DiscardHandler(), this.consolidator);
+        this.context = this.channel.pipeline().context(this.consolidator);
+
+        // Consolidation only starts once the player is in game
+        this.channel.write(new ClientboundLoginPacket(), this.channel.voidPromise());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.channel.close();
+    }
+
+    @Benchmark
+    public void consolidate() {
+        this.consolidator.close();
+
+        for (int i = 0; i < this.packets; i++) {
+            this.channel.write(this.packet, this.channel.voidPromise());
+        }
+
+        this.consolidator.open();
+        this.consolidator.drain(this.context);
+    }
+}
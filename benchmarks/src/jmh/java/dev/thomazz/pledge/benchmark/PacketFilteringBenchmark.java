@@ -0,0 +1,53 @@
+package dev.thomazz.pledge.benchmark;
+
+import dev.thomazz.pledge.network.queue.PacketFiltering;
+import net.minecraft.network.protocol.game.ClientboundKeepAlivePacket;
+import net.minecraft.network.protocol.game.ClientboundLoginPacket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PacketFilteringBenchmark {
+    private PacketFiltering filtering;
+    private Object[] packets;
+
+    @Setup
+    public void setup() {
+        this.filtering = new BenchmarkPledge().getPacketFilter();
+
+        // Mostly regular packets, like a normal outbound stream
+        this.packets = new Object[] {
+                new BenchmarkPledge.Packet(),
+                new BenchmarkPledge.Packet(),
+                new BenchmarkPledge.Packet(),
+                new BenchmarkPledge.Ping(0),
+                new ClientboundKeepAlivePacket(),
+                new BenchmarkPledge.Packet(),
+                new BenchmarkPledge.Packet(),
+                new ClientboundLoginPacket()
+        };
+    }
+
+    @Benchmark
+    public void classify(Blackhole blackhole) {
+        for (Object packet : this.packets) {
+            blackhole.consume(this.filtering.classify(packet));
+        }
+    }
+}
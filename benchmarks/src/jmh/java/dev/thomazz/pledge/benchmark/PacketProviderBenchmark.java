@@ -0,0 +1,140 @@
+package dev.thomazz.pledge.benchmark;
+
+import dev.thomazz.pledge.packet.PingPacketCache;
+import dev.thomazz.pledge.packet.PingPacketProvider;
+import dev.thomazz.pledge.packet.providers.PingPongPacketProvider;
+import dev.thomazz.pledge.packet.providers.TransactionPacketProvider;
+import dev.thomazz.pledge.util.MinecraftReflectionProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ping packets built and pongs decoded by the reflective packet providers, directly and through the packet cache.
+ * Game packets are stand-ins with the same constructors and fields as the server ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PacketProviderBenchmark {
+    // Amount of IDs cycled through, like the range of a client pinger
+    private static final int RANGE = 1000;
+
+    @Param({"transaction", "pingpong"})
+    public String provider;
+
+    private PingPacketProvider direct;
+    private PingPacketProvider cached;
+    private Object pong;
+    private int id = -1;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkPledge pledge = new BenchmarkPledge() {
+            @Override
+            public MinecraftReflectionProvider getReflectionProvider() {
+                return GamePackets.INSTANCE;
+            }
+        };
+
+        if (this.provider.equals("transaction")) {
+            this.direct = new TransactionPacketProvider(pledge);
+            this.pong = new PacketPlayInTransaction((short) -1);
+        } else {
+            this.direct = new PingPongPacketProvider(pledge);
+            this.pong = new ServerboundPongPacket(-1);
+        }
+
+        this.cached = new PingPacketCache(this.direct);
+    }
+
+    @Benchmark
+    public Object build() throws Exception {
+        return this.direct.buildPacket(this.nextId());
+    }
+
+    @Benchmark
+    public Object buildCached() throws Exception {
+        return this.cached.buildPacket(this.nextId());
+    }
+
+    @Benchmark
+    public int decodePong() throws Exception {
+        return this.direct.decodePong(this.pong);
+    }
+
+    private int nextId() {
+        int id = this.id;
+        this.id = id == -PacketProviderBenchmark.RANGE ? -1 : id - 1;
+        return id;
+    }
+
+    // Resolves game packets to the stand-ins below
+    private static final class GamePackets implements MinecraftReflectionProvider {
+        private static final GamePackets INSTANCE = new GamePackets();
+
+        @Override
+        public Class<?> gamePacket(String className) throws ClassNotFoundException {
+            return Class.forName(PacketProviderBenchmark.class.getName() + "$" + className);
+        }
+
+        @Override
+        public String getCraftBukkitPackage() {
+            return "org.bukkit.craftbukkit";
+        }
+
+        @Override
+        public Object getNMSServer() throws ReflectiveOperationException {
+            throw new ClassNotFoundException("No server in benchmarks");
+        }
+    }
+
+    public static final class ClientboundPingPacket {
+        private final int id;
+
+        public ClientboundPingPacket(int id) {
+            this.id = id;
+        }
+    }
+
+    public static final class ServerboundPongPacket {
+        private final int id;
+
+        public ServerboundPongPacket(int id) {
+            this.id = id;
+        }
+    }
+
+    public static final class PacketPlayOutTransaction {
+        private final int windowId;
+        private final short action;
+        private final boolean accepted;
+
+        public PacketPlayOutTransaction(int windowId, short action, boolean accepted) {
+            this.windowId = windowId;
+            this.action = action;
+            this.accepted = accepted;
+        }
+    }
+
+    public static final class PacketPlayInTransaction {
+        private final short action;
+
+        public PacketPlayInTransaction(short action) {
+            this.action = action;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package dev.thomazz.pledge.benchmark;
+
+import dev.thomazz.pledge.pinger.ClientPingerImpl;
+import dev.thomazz.pledge.pinger.data.PingData;
+import dev.thomazz.pledge.pinger.data.PingOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PingDataBenchmark {
+    // Amount of pings waiting for a pong
+    @Param({"1", "64"})
+    public int outstanding;
+
+    private PingData data;
+    private int nextId;
+    private int oldestId;
+
+    @Setup
+    public void setup() {
+        BenchmarkPledge pledge = new BenchmarkPledge();
+        this.data = new PingData(UUID.randomUUID(), new ClientPingerImpl<>(pledge, 0, -30000));
+
+        for (int i = 1; i < this.outstanding; i++) {
+            this.data.offer(PingOrder.TICK_START, this.nextId++);
+        }
+    }
+
+    @Benchmark
+    public int pullId() {
+        return this.data.pullId();
+    }
+
+    @Benchmark
+    public int offerConfirm() {
+        this.data.offer(PingOrder.TICK_END, this.nextId++);
+        return this.data.confirm(this.oldestId++);
+    }
+}
@@ -0,0 +1,5 @@
+package net.minecraft.network.protocol.game;
+
+// Stand-in for the game packet, resolved by name when setting up packet filtering
+public class ClientboundKeepAlivePacket {
+}
@@ -24,17 +24,20 @@ repositories {
     }
 }
 
+// Versions shared with the other projects through the version catalog
+val libs = the<VersionCatalogsExtension>().named("libs")
+
 dependencies {
     api("org.jetbrains:annotations:24.0.1")
     testImplementation("org.junit.jupiter:junit-jupiter-engine:5.9.2")
     testImplementation("org.mockito:mockito-core:3.12.4")
     testImplementation("org.mockito:mockito-junit-jupiter:3.12.4")
-    testImplementation("io.netty:netty-all:4.1.42.Final")
+    testImplementation(libs.findLibrary("io-netty-netty-all").get())
     compileOnly("org.projectlombok:lombok:1.18.32")
     annotationProcessor("org.projectlombok:lombok:1.18.32")
-    compileOnly("io.netty:netty-all:4.1.42.Final")
+    compileOnly(libs.findLibrary("io-netty-netty-all").get())
     compileOnly("org.slf4j:slf4j-api:2.0.12")
-    compileOnly("com.google.guava:guava:33.0.0-jre")
+    compileOnly(libs.findLibrary("com-google-guava-guava").get())
 }
 
 group = "dev.thomazz"
@@ -1,6 +1,7 @@
 package dev.thomazz.pledge;
 
 import dev.thomazz.pledge.event.EventProvider;
+import dev.thomazz.pledge.event.PingSendListener;
 import dev.thomazz.pledge.network.queue.PacketFiltering;
 import dev.thomazz.pledge.packet.BundleProvider;
 import dev.thomazz.pledge.packet.PacketBundleBuilder;
@@ -24,6 +25,25 @@ public interface Pledge<SP> {
 
     void cancelPongs(boolean cancelPongs);
 
+    /**
+     * Sets if the platform tick start and end events should be called.
+     * Client pingers are driven directly by Pledge, so these events are only called for other plugins when enabled.
+     * <p>
+     * @param tickEvents - If tick events should be called
+     */
+    void tickEvents(boolean tickEvents);
+
+    /**
+     * Sets if the platform ping send and pong receive events should be called.
+     * Client pingers do not depend on these events, so they are only called for other plugins.
+     * On Spigot these events are enabled by default, but are still only called while a plugin listens to them.
+     * Sponge cannot check for registered listeners, so these events are disabled by default there and have to be enabled.
+     * Use {@link #attach(PingSendListener)} to listen to sent pings without creating an event for each ping.
+     * <p>
+     * @param pingEvents - If ping send and pong receive events should be called
+     */
+    void pingEvents(boolean pingEvents);
+
     default boolean supportsBundles() {
         return PacketBundleBuilder.INSTANCE.isSupported();
     }
@@ -43,6 +63,14 @@ public interface Pledge<SP> {
 
     void sendPingRaw(@NotNull UUID player, @NotNull Channel channel, int pingId);
 
+    /**
+     * Attaches a listener that is called for every ping sent.
+     * Unlike the platform ping send event, no event object is created for each ping.
+     * <p>
+     * @param listener - Listener to attach
+     */
+    void attach(@NotNull PingSendListener listener);
+
     /**
      * Gets the networking channel for a {@link SP} if available.
      * <p>
@@ -4,5 +4,13 @@ import java.util.UUID;
 
 public interface EventProvider {
 
-    boolean callPongReceive(UUID player, int id);
+    // If the pong receive event has any listeners, the event does not have to be called otherwise
+    boolean hasPongListeners();
+
+    boolean callPongReceive(UUID player, int id, boolean validated);
+
+    // If the ping send event has any listeners, the event does not have to be created otherwise
+    boolean hasPingSendListeners();
+
+    void callPingSend(UUID player, int id);
 }
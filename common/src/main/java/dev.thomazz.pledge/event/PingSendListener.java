@@ -0,0 +1,18 @@
+package dev.thomazz.pledge.event;
+
+import java.util.UUID;
+
+/**
+ * Listener for every ping sent by Pledge, without creating a platform event for each ping.
+ * Note: Executed from netty thread
+ */
+@FunctionalInterface
+public interface PingSendListener {
+    /**
+     * Called when a ping packet is sent to a player.
+     * <p>
+     * @param player - Player the ping is sent to
+     * @param id     - ID of the ping
+     */
+    void onPingSend(UUID player, int id);
+}
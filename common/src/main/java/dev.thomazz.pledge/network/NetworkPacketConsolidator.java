@@ -1,6 +1,7 @@
 package dev.thomazz.pledge.network;
 
 import dev.thomazz.pledge.Pledge;
+import dev.thomazz.pledge.network.queue.PacketFiltering;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
@@ -13,22 +14,38 @@ public class NetworkPacketConsolidator extends ChannelOutboundHandlerAdapter {
 
     private final Pledge<?> api;
     private final Queue<NetworkMessage> messageQueue = new ArrayDeque<>();
+    // Called before the first packet written while armed, used to lazily send pings
+    private final Runnable activityTask;
     private boolean started = false;
     private boolean open = true;
+    private boolean armed = false;
 
     public NetworkPacketConsolidator(Pledge<?> api) {
+        this(api, null);
+    }
+
+    public NetworkPacketConsolidator(Pledge<?> api, Runnable activityTask) {
         this.api = api;
+        this.activityTask = activityTask;
     }
 
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        int category = api.getPacketFilter().classify(msg);
+
         // Start with login packet in game state
-        if (api.getPacketFilter().isLoginPacket(msg)) {
+        if ((category & PacketFiltering.LOGIN) != 0) {
             this.started = true;
         }
 
+        // Whitelisted packets are not tracked, so they do not count as activity
+        if (this.armed && (category & PacketFiltering.WHITELISTED) == 0) {
+            this.armed = false;
+            this.activityTask.run();
+        }
+
         // Check if started, some packets are whitelisted from being queued
-        if (this.started && !this.open && !api.getPacketFilter().isWhitelistedFromQueue(msg)) {
+        if (this.started && !this.open && (category & PacketFiltering.WHITELISTED) == 0) {
             this.messageQueue.add(NetworkMessage.of(msg, promise));
             return;
         }
@@ -44,6 +61,21 @@ public class NetworkPacketConsolidator extends ChannelOutboundHandlerAdapter {
         this.open = false;
     }
 
+    public boolean hasQueued() {
+        return !this.messageQueue.isEmpty();
+    }
+
+    public void arm() {
+        this.armed = this.activityTask != null;
+    }
+
+    // Returns if the consolidator was still armed, meaning no packets were written since arming
+    public boolean disarm() {
+        boolean armed = this.armed;
+        this.armed = false;
+        return armed;
+    }
+
     public void drain(ChannelHandlerContext ctx) {
         while (!this.messageQueue.isEmpty()) {
             NetworkMessage message = this.messageQueue.poll();
@@ -1,7 +1,9 @@
 package dev.thomazz.pledge.network;
 
 import dev.thomazz.pledge.Pledge;
+import dev.thomazz.pledge.event.EventProvider;
 import dev.thomazz.pledge.packet.PingPacketProvider;
+import dev.thomazz.pledge.pinger.ClientPingerRegistry;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import lombok.RequiredArgsConstructor;
@@ -12,20 +14,48 @@ import java.util.UUID;
 public class NetworkPongListener extends ChannelInboundHandlerAdapter {
 
     private final Pledge<?> clientPing;
+    private final ClientPingerRegistry<?> pingerRegistry;
     private final UUID player;
 
+    // If pongs were received since the last batch flush
+    private boolean pendingBatch;
+
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         PingPacketProvider packetProvider = this.clientPing.getPacketProvider();
 
-        if (packetProvider.isPong(msg)) {
-            int id = packetProvider.idFromPong(msg);
-            final boolean validated = clientPing.eventProvider().callPongReceive(player, id);
-            if (validated && clientPing.cancelPongs()) {
+        int id = packetProvider.decodePong(msg);
+        if (id != PingPacketProvider.NO_PONG) {
+            // Pingers are matched right here, the platform event is only needed for other listeners
+            boolean validated = this.pingerRegistry.receivePong(ctx.channel(), id);
+            this.pendingBatch = true;
+
+            EventProvider eventProvider = this.clientPing.eventProvider();
+            if (eventProvider.hasPongListeners()) {
+                validated = eventProvider.callPongReceive(this.player, id, validated);
+            }
+
+            if (validated && this.clientPing.cancelPongs()) {
                 return;
             }
+        } else {
+            // Batch has to be handled before anything received after it
+            this.flushBatch(ctx);
         }
 
         super.channelRead(ctx, msg);
     }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        this.flushBatch(ctx);
+        super.channelReadComplete(ctx);
+    }
+
+    private void flushBatch(ChannelHandlerContext ctx) {
+        if (this.pendingBatch) {
+            this.pendingBatch = false;
+            this.pingerRegistry.flushPongs(ctx.channel());
+        }
+    }
 }
@@ -1,31 +1,47 @@
 package dev.thomazz.pledge.network.queue;
 
-import dev.thomazz.pledge.network.NetworkMessage;
 import dev.thomazz.pledge.packet.PacketBundleBuilder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.Deque;
-import java.util.concurrent.ConcurrentLinkedDeque;
+/**
+ * Queues outbound messages until drained.
+ * <p>
+ * Only accessed from the channel event loop, so messages are kept in plain ring buffers
+ * instead of allocating a holder object and queue node for every queued packet.
+ * The handler sits after the prepender, so queued messages are encoded buffers and their readable bytes are tracked.
+ */
+public class MessageQueueHandler extends ChannelDuplexHandler {
+    private static final int INITIAL_CAPACITY = 64;
 
-@Setter
-@Getter
-public class MessageQueueHandler extends ChannelOutboundHandlerAdapter {
+    private Object[] messages = new Object[MessageQueueHandler.INITIAL_CAPACITY];
+    private ChannelPromise[] promises = new ChannelPromise[MessageQueueHandler.INITIAL_CAPACITY];
+    private Class<?>[] packetTypes = new Class<?>[MessageQueueHandler.INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    private long bytes;
 
-    private final Deque<NetworkMessage> messageQueue = new ConcurrentLinkedDeque<>();
+    @Getter
+    @Setter
     private QueueMode mode = QueueMode.PASS;
 
+    // Runs once the channel can be written to again
+    @Setter
+    private Runnable writableTask;
+
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
         switch (this.mode) {
             case ADD_FIRST:
-                this.messageQueue.addFirst(NetworkMessage.of(msg, promise));
+                this.addFirst(msg, promise);
                 break;
             case ADD_LAST:
-                this.messageQueue.addLast(NetworkMessage.of(msg, promise));
+                this.addLast(msg, promise);
                 break;
             default:
             case PASS:
@@ -40,17 +56,148 @@ public class MessageQueueHandler extends ChannelOutboundHandlerAdapter {
         super.close(ctx, promise);
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (this.writableTask != null && ctx.channel().isWritable()) {
+            this.writableTask.run();
+        }
+
+        super.channelWritabilityChanged(ctx);
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    // Readable bytes of all queued buffers
+    public long bytes() {
+        return this.bytes;
+    }
+
+    public void tagFirst(Class<?> packetType) {
+        if (this.size > 0) {
+            this.packetTypes[this.head] = packetType;
+        }
+    }
+
+    public void tagLast(Class<?> packetType) {
+        if (this.size > 0) {
+            this.packetTypes[this.index(this.size - 1)] = packetType;
+        }
+    }
+
     public void stripBundles() {
-        // Packet type can be null if a plugin in the pipeline added their own packets - no good way to handle this.
-        messageQueue.removeIf(msg -> msg.getPacketType() != null && PacketBundleBuilder.INSTANCE.isDelimiter(msg.getPacketType()));
+        int kept = 0;
+        for (int i = 0; i < this.size; i++) {
+            int index = this.index(i);
+            Class<?> packetType = this.packetTypes[index];
+
+            // Packet type can be null if a plugin in the pipeline added their own packets - no good way to handle this.
+            if (packetType != null && PacketBundleBuilder.INSTANCE.isDelimiter(packetType)) {
+                this.bytes -= MessageQueueHandler.sizeOf(this.messages[index]);
+                continue;
+            }
+
+            int target = this.index(kept++);
+            this.messages[target] = this.messages[index];
+            this.promises[target] = this.promises[index];
+            this.packetTypes[target] = packetType;
+        }
+
+        for (int i = kept; i < this.size; i++) {
+            this.clear(this.index(i));
+        }
+
+        this.size = kept;
     }
 
     public void drain(ChannelHandlerContext ctx, boolean flush) {
-        while (!this.messageQueue.isEmpty()) {
-            NetworkMessage message = this.messageQueue.poll();
-            ctx.write(message.getMessage(), message.getPromise());
+        // Messages are polled one by one, writes can cause new messages to be queued
+        while (this.size > 0) {
+            int index = this.head;
+            Object message = this.messages[index];
+            ChannelPromise promise = this.promises[index];
+
+            this.clear(index);
+            this.head = this.index(1);
+            this.size--;
+            this.bytes -= MessageQueueHandler.sizeOf(message);
+
+            ctx.write(message, promise);
         }
 
         if (flush && ctx.channel().isOpen()) ctx.flush();
     }
+
+    private void addFirst(Object msg, ChannelPromise promise) {
+        if (this.size == this.messages.length) {
+            this.grow();
+        }
+
+        this.head = (this.head - 1) & (this.messages.length - 1);
+        this.messages[this.head] = msg;
+        this.promises[this.head] = promise;
+        this.size++;
+        this.bytes += MessageQueueHandler.sizeOf(msg);
+    }
+
+    private void addLast(Object msg, ChannelPromise promise) {
+        if (this.size == this.messages.length) {
+            this.grow();
+        }
+
+        int tail = this.index(this.size);
+        this.messages[tail] = msg;
+        this.promises[tail] = promise;
+        this.size++;
+        this.bytes += MessageQueueHandler.sizeOf(msg);
+    }
+
+    private static int sizeOf(Object msg) {
+        if (msg instanceof ByteBuf) {
+            return ((ByteBuf) msg).readableBytes();
+        }
+
+        if (msg instanceof ByteBufHolder) {
+            return ((ByteBufHolder) msg).content().readableBytes();
+        }
+
+        return 0;
+    }
+
+    private int index(int offset) {
+        return (this.head + offset) & (this.messages.length - 1);
+    }
+
+    private void clear(int index) {
+        this.messages[index] = null;
+        this.promises[index] = null;
+        this.packetTypes[index] = null;
+    }
+
+    private void grow() {
+        int capacity = this.messages.length;
+        int firstPart = Math.min(this.size, capacity - this.head);
+
+        Object[] messages = new Object[capacity << 1];
+        System.arraycopy(this.messages, this.head, messages, 0, firstPart);
+        System.arraycopy(this.messages, 0, messages, firstPart, this.size - firstPart);
+
+        ChannelPromise[] promises = new ChannelPromise[capacity << 1];
+        System.arraycopy(this.promises, this.head, promises, 0, firstPart);
+        System.arraycopy(this.promises, 0, promises, firstPart, this.size - firstPart);
+
+        Class<?>[] packetTypes = new Class<?>[capacity << 1];
+        System.arraycopy(this.packetTypes, this.head, packetTypes, 0, firstPart);
+        System.arraycopy(this.packetTypes, 0, packetTypes, firstPart, this.size - firstPart);
+
+        this.messages = messages;
+        this.promises = promises;
+        this.packetTypes = packetTypes;
+        this.head = 0;
+    }
 }
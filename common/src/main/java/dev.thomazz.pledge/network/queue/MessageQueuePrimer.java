@@ -18,14 +18,16 @@ public class MessageQueuePrimer extends ChannelOutboundHandlerAdapter {
 
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        int category = pledge.getPacketFilter().classify(msg);
+
         // Let whitelisted packets pass through the queue
-        if (pledge.getPacketFilter().isWhitelistedFromQueue(msg) || pledge.getPacketFilter().isLoginPacket(msg)) {
+        if ((category & (PacketFiltering.WHITELISTED | PacketFiltering.LOGIN)) != 0) {
             QueueMode lastMode = this.queueHandler.getMode();
             try {
                 this.queueHandler.setMode(QueueMode.PASS);
                 super.write(ctx, msg, promise);
             } finally {
-                this.queueHandler.setMode(pledge.getPacketFilter().isLoginPacket(msg) ? QueueMode.ADD_LAST : lastMode);
+                this.queueHandler.setMode((category & PacketFiltering.LOGIN) != 0 ? QueueMode.ADD_LAST : lastMode);
                 super.flush(ctx);
             }
             return;
@@ -38,17 +40,15 @@ public class MessageQueuePrimer extends ChannelOutboundHandlerAdapter {
             // This happens with ViaVersion
             // This is useless for older clients where this happens anyway
             // We could try to implement a client version check but I'm not sure how.
-            if (!this.queueHandler.getMessageQueue().isEmpty()) {
-                switch (this.queueHandler.getMode()) {
-                    case ADD_LAST:
-                        this.queueHandler.getMessageQueue().peekLast().setPacketType(msg.getClass());
-                        break;
-                    case ADD_FIRST:
-                        this.queueHandler.getMessageQueue().peekFirst().setPacketType(msg.getClass());
-                        break;
-                    case PASS:
-                        break;
-                }
+            switch (this.queueHandler.getMode()) {
+                case ADD_LAST:
+                    this.queueHandler.tagLast(msg.getClass());
+                    break;
+                case ADD_FIRST:
+                    this.queueHandler.tagFirst(msg.getClass());
+                    break;
+                case PASS:
+                    break;
             }
 
             if (this.endNextFrame != null) {
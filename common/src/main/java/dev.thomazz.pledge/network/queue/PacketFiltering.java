@@ -6,11 +6,32 @@ import dev.thomazz.pledge.Pledge;
 import java.util.List;
 
 public final class PacketFiltering {
+    // Packet categories, combined into a bitmask for each packet class
+    public static final int WHITELISTED = 1;
+    public static final int LOGIN = 1 << 1;
 
     private final Pledge<?> pledge;
     private final List<Class<?>> queueWhiteListPackets;
     private final List<Class<?>> loginPackets;
 
+    // Resolved once per concrete packet class, lookups after that do not need to check every type
+    private final ClassValue<Integer> categories = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            int categories = 0;
+
+            if (PacketFiltering.matches(PacketFiltering.this.queueWhiteListPackets, type)) {
+                categories |= PacketFiltering.WHITELISTED;
+            }
+
+            if (PacketFiltering.matches(PacketFiltering.this.loginPackets, type)) {
+                categories |= PacketFiltering.LOGIN;
+            }
+
+            return categories;
+        }
+    };
+
     public PacketFiltering(Pledge<?> pledge) {
         this.pledge = pledge;
 
@@ -49,13 +70,28 @@ public final class PacketFiltering {
         }
     }
 
+    private static boolean matches(List<Class<?>> types, Class<?> packetType) {
+        for (Class<?> type : types) {
+            if (type.isAssignableFrom(packetType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // Bitmask of all categories the packet belongs to
+    public int classify(Object packet) {
+        return this.categories.get(packet.getClass());
+    }
+
     // If a packet should be added to the packet queue or instantly sent to players
     public boolean isWhitelistedFromQueue(Object packet) {
-        return queueWhiteListPackets.stream().anyMatch(type -> type.isInstance(packet));
+        return (this.classify(packet) & PacketFiltering.WHITELISTED) != 0;
     }
 
     // Login packets initiate the game start protocol
     public boolean isLoginPacket(Object packet) {
-        return loginPackets.stream().anyMatch(type -> type.isInstance(packet));
+        return (this.classify(packet) & PacketFiltering.LOGIN) != 0;
     }
 }
@@ -22,6 +22,7 @@ public class PacketProviderFactory {
                 .map((supplier) -> buildProvider(supplier, pledge))
                 .flatMap(optional -> optional.map(Stream::of).orElseGet(Stream::empty))
                 .findFirst()
+                .map(PingPacketCache::new)
                 .orElseThrow(() -> new RuntimeException("Could not create packet provider!"));
     }
 
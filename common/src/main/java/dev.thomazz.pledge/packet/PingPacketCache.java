@@ -0,0 +1,91 @@
+package dev.thomazz.pledge.packet;
+
+/**
+ * Packet provider that caches built ping packets by their ID.
+ * <p>
+ * Ping packets are immutable and pinger IDs cycle through a bounded range, so the same packet instance can be reused
+ * every time an ID comes around again. Entries are mapped on the lower bits of the ID, which caps memory usage at the
+ * capacity of the cache even for providers supporting the full integer range.
+ * Any pinger range that fits inside the capacity only has its packets built once.
+ */
+public class PingPacketCache implements PingPacketProvider {
+    public static final int DEFAULT_CAPACITY = 1 << 15;
+
+    private final PingPacketProvider provider;
+    private final Entry[] entries;
+    private final int mask;
+
+    public PingPacketCache(PingPacketProvider provider) {
+        this(provider, PingPacketCache.DEFAULT_CAPACITY);
+    }
+
+    public PingPacketCache(PingPacketProvider provider, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+
+        // No need to go beyond the amount of IDs the provider supports
+        long range = (long) provider.getUpperBound() - provider.getLowerBound() + 1L;
+        int size = Integer.highestOneBit((int) Math.min(range, capacity));
+        if (size < range && (size << 1) <= capacity) {
+            size <<= 1;
+        }
+
+        this.provider = provider;
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public Object buildPacket(int id) throws Exception {
+        int index = id & this.mask;
+        Entry entry = this.entries[index];
+
+        if (entry == null || entry.id != id) {
+            entry = new Entry(id, this.provider.buildPacket(id));
+            this.entries[index] = entry;
+        }
+
+        return entry.packet;
+    }
+
+    @Override
+    public int idFromPong(Object packet) throws Exception {
+        return this.provider.idFromPong(packet);
+    }
+
+    @Override
+    public boolean isPong(Object packet) throws Exception {
+        return this.provider.isPong(packet);
+    }
+
+    @Override
+    public int decodePong(Object packet) throws Exception {
+        return this.provider.decodePong(packet);
+    }
+
+    @Override
+    public int getLowerBound() {
+        return this.provider.getLowerBound();
+    }
+
+    @Override
+    public int getUpperBound() {
+        return this.provider.getUpperBound();
+    }
+
+    public int capacity() {
+        return this.entries.length;
+    }
+
+    // Entries are shared between event loops without locking, final fields make sure they are always seen complete
+    private static final class Entry {
+        private final int id;
+        private final Object packet;
+
+        private Entry(int id, Object packet) {
+            this.id = id;
+            this.packet = packet;
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package dev.thomazz.pledge.packet;
 
 public interface PingPacketProvider {
+    // Returned by decodePong for packets that are not pongs, never a valid ping ID
+    int NO_PONG = Integer.MIN_VALUE;
+
     Object buildPacket(int id) throws Exception;
 
     int idFromPong(Object packet) throws Exception;
 
     boolean isPong(Object packet) throws Exception;
 
+    /**
+     * Checks if a packet is a pong and reads its ID in a single call.
+     * <p>
+     * @param packet - Packet to decode
+     * @return       - ID of the pong, or {@link #NO_PONG} if the packet is not a pong
+     */
+    default int decodePong(Object packet) throws Exception {
+        return this.isPong(packet) ? this.idFromPong(packet) : PingPacketProvider.NO_PONG;
+    }
+
     int getLowerBound();
 
     int getUpperBound();
@@ -5,31 +5,52 @@ import dev.thomazz.pledge.packet.PingPacketProvider;
 import dev.thomazz.pledge.util.MinecraftReflectionProvider;
 import dev.thomazz.pledge.util.ReflectionUtil;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
 
 public class PingPongPacketProvider implements PingPacketProvider {
+    // Handles are only known at runtime, invoking them through static call sites lets the JIT inline them as constants
+    private static final MutableCallSite PONG_ID_SITE = new MutableCallSite(MethodType.methodType(int.class, Object.class));
+    private static final MutableCallSite PING_SITE = new MutableCallSite(MethodType.methodType(Object.class, int.class));
+    private static final MethodHandle PONG_ID_GETTER = PingPongPacketProvider.PONG_ID_SITE.dynamicInvoker();
+    private static final MethodHandle PING_CONSTRUCTOR = PingPongPacketProvider.PING_SITE.dynamicInvoker();
+
     private final Class<?> pongClass;
-    private final Field pongIdField;
-    private final Constructor<?> pingConstructor;
 
     public PingPongPacketProvider(Pledge<?> pledge) throws Exception {
         final MinecraftReflectionProvider reflectionProvider = pledge.getReflectionProvider();
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
         this.pongClass = reflectionProvider.gamePacket("ServerboundPongPacket");
-        this.pongIdField = ReflectionUtil.getFieldByType(this.pongClass, int.class);
+        MethodHandle pongIdGetter = lookup.unreflectGetter(ReflectionUtil.getFieldByType(this.pongClass, int.class));
 
         Class<?> pingClass = reflectionProvider.gamePacket("ClientboundPingPacket");
-        this.pingConstructor = pingClass.getConstructor(int.class);
+        MethodHandle pingConstructor = lookup.unreflectConstructor(pingClass.getConstructor(int.class));
+
+        // Always the same classes, so a new instance can safely replace the targets
+        PingPongPacketProvider.PONG_ID_SITE.setTarget(pongIdGetter.asType(PingPongPacketProvider.PONG_ID_SITE.type()));
+        PingPongPacketProvider.PING_SITE.setTarget(pingConstructor.asType(PingPongPacketProvider.PING_SITE.type()));
+        MutableCallSite.syncAll(new MutableCallSite[]{PingPongPacketProvider.PONG_ID_SITE, PingPongPacketProvider.PING_SITE});
     }
 
     @Override
     public Object buildPacket(int id) throws Exception {
-        return this.pingConstructor.newInstance(id);
+        try {
+            return (Object) PingPongPacketProvider.PING_CONSTRUCTOR.invokeExact(id);
+        } catch (Throwable throwable) {
+            throw ReflectionUtil.rethrow(throwable);
+        }
     }
 
     @Override
     public int idFromPong(Object packet) throws Exception {
-        return this.pongIdField.getInt(packet);
+        try {
+            return (int) PingPongPacketProvider.PONG_ID_GETTER.invokeExact(packet);
+        } catch (Throwable throwable) {
+            throw ReflectionUtil.rethrow(throwable);
+        }
     }
 
     @Override
@@ -37,9 +58,15 @@ public class PingPongPacketProvider implements PingPacketProvider {
         return this.pongClass.isInstance(packet);
     }
 
+    @Override
+    public int decodePong(Object packet) throws Exception {
+        return this.pongClass.isInstance(packet) ? this.idFromPong(packet) : PingPacketProvider.NO_PONG;
+    }
+
     @Override
     public int getLowerBound() {
-        return Integer.MIN_VALUE;
+        // Minimum value is reserved for packets that are not pongs
+        return Integer.MIN_VALUE + 1;
     }
 
     @Override
@@ -5,36 +5,67 @@ import dev.thomazz.pledge.packet.PingPacketProvider;
 import dev.thomazz.pledge.util.MinecraftReflectionProvider;
 import dev.thomazz.pledge.util.ReflectionUtil;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
 
 public class TransactionPacketProvider implements PingPacketProvider {
+    // Handles are only known at runtime, invoking them through static call sites lets the JIT inline them as constants
+    private static final MutableCallSite IN_ID_SITE = new MutableCallSite(MethodType.methodType(short.class, Object.class));
+    private static final MutableCallSite OUT_SITE = new MutableCallSite(MethodType.methodType(Object.class, short.class));
+    private static final MethodHandle IN_TRANSACTION_ID_GETTER = TransactionPacketProvider.IN_ID_SITE.dynamicInvoker();
+    private static final MethodHandle OUT_TRANSACTION_CONSTRUCTOR = TransactionPacketProvider.OUT_SITE.dynamicInvoker();
+
     private final Class<?> inTransactionClass;
-    private final Field inTransactionIdField;
-    private final Constructor<?> outTransactionConstructor;
 
     public TransactionPacketProvider(Pledge<?> pledge) throws Exception {
         final MinecraftReflectionProvider reflectionProvider = pledge.getReflectionProvider();
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
         this.inTransactionClass = reflectionProvider.gamePacket("PacketPlayInTransaction");
-        this.inTransactionIdField = ReflectionUtil.getFieldByType(this.inTransactionClass, short.class);
+        MethodHandle idGetter = lookup.unreflectGetter(ReflectionUtil.getFieldByType(this.inTransactionClass, short.class));
 
+        // Window ID and accepted flag are always the same, only the action number changes
         Class<?> outTransactionClass = reflectionProvider.gamePacket("PacketPlayOutTransaction");
-        this.outTransactionConstructor = outTransactionClass.getConstructor(int.class, short.class, boolean.class);
+        MethodHandle constructor = lookup.unreflectConstructor(outTransactionClass.getConstructor(int.class, short.class, boolean.class));
+        constructor = MethodHandles.insertArguments(constructor, 2, false);
+        constructor = MethodHandles.insertArguments(constructor, 0, 0);
+
+        // Always the same classes, so a new instance can safely replace the targets
+        TransactionPacketProvider.IN_ID_SITE.setTarget(idGetter.asType(TransactionPacketProvider.IN_ID_SITE.type()));
+        TransactionPacketProvider.OUT_SITE.setTarget(constructor.asType(TransactionPacketProvider.OUT_SITE.type()));
+        MutableCallSite.syncAll(new MutableCallSite[]{TransactionPacketProvider.IN_ID_SITE, TransactionPacketProvider.OUT_SITE});
     }
 
     @Override
     public Object buildPacket(int id) throws Exception {
-        return this.outTransactionConstructor.newInstance(0, (short) id, false);
+        try {
+            return (Object) TransactionPacketProvider.OUT_TRANSACTION_CONSTRUCTOR.invokeExact((short) id);
+        } catch (Throwable throwable) {
+            throw ReflectionUtil.rethrow(throwable);
+        }
     }
 
     @Override
     public int idFromPong(Object packet) throws Exception {
-        return this.inTransactionIdField.getShort(packet);
+        return this.readId(packet);
     }
 
     @Override
     public boolean isPong(Object packet) throws Exception {
-        return this.inTransactionClass.isInstance(packet) && this.inTransactionIdField.getShort(packet) < 0;
+        return this.inTransactionClass.isInstance(packet) && this.readId(packet) < 0;
+    }
+
+    @Override
+    public int decodePong(Object packet) throws Exception {
+        if (!this.inTransactionClass.isInstance(packet)) {
+            return PingPacketProvider.NO_PONG;
+        }
+
+        // Only read the action number once, positive numbers are used by the game itself
+        short id = this.readId(packet);
+        return id < 0 ? id : PingPacketProvider.NO_PONG;
     }
 
     @Override
@@ -46,4 +77,12 @@ public class TransactionPacketProvider implements PingPacketProvider {
     public int getUpperBound() {
         return -1;
     }
+
+    private short readId(Object packet) throws Exception {
+        try {
+            return (short) TransactionPacketProvider.IN_TRANSACTION_ID_GETTER.invokeExact(packet);
+        } catch (Throwable throwable) {
+            throw ReflectionUtil.rethrow(throwable);
+        }
+    }
 }
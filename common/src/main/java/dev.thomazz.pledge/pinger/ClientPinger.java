@@ -1,5 +1,10 @@
 package dev.thomazz.pledge.pinger;
 
+import dev.thomazz.pledge.pinger.data.LatencyTracker;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 /**
@@ -29,10 +34,91 @@ public interface ClientPinger<SP> {
      */
     void filter(Predicate<SP> condition);
 
+    /**
+     * Sets if pings should be skipped for ticks where nothing is sent to a player.
+     * When enabled, the tick start ping is only sent right before the first packet of the tick.
+     * If no packets are sent during a tick, both the start and end ping are skipped,
+     * as the next ping received already confirms the tick.
+     * Disabled by default, has no effect on a {@link dev.thomazz.pledge.pinger.frame.FrameClientPinger}.
+     * <p>
+     * @param idleSuppression - If pings should be skipped for idle ticks
+     */
+    void idleSuppression(boolean idleSuppression);
+
+    /**
+     * Sets if the pinger should resynchronize when a player responds to a ping that is not the next expected one.
+     * When enabled and the ID is found further down the outstanding pings, all pings before it are dropped
+     * and reported once through {@link ClientPingerListener#onSkipped(UUID, int, int)} instead of every later pong being an error.
+     * Disabled by default, so every unexpected pong is reported through {@link ClientPingerListener#onError(UUID, int)}.
+     * <p>
+     * @param resync - If the pinger should resynchronize
+     */
+    void resync(boolean resync);
+
+    /**
+     * Sets the maximum amount of unanswered pings per player, bounding the memory used for clients that stopped responding.
+     * Once reached, no new ping IDs are issued: ticks go unconfirmed and frames are extended instead.
+     * Packets of an extended frame are still sent every tick after its start ping, only the end ping waits for the client.
+     * The first ping sent after the client responds again confirms everything sent in the meantime.
+     * Every frame uses at least one ping, so this also limits the amount of unanswered frames.
+     * <p>
+     * @param maxOutstanding - Maximum amount of unanswered pings, 0 or lower for no limit
+     */
+    void maxOutstanding(int maxOutstanding);
+
+    /**
+     * Sets a timeout for unanswered pings, checked at the end of every tick.
+     * Pings are answered in order, so only the oldest unanswered ping of a player is checked.
+     * Timeouts are reported through {@link ClientPingerListener#onTimeout(UUID, int, long)}.
+     * <p>
+     * @param timeout - Timeout, 0 or lower to disable
+     * @param unit    - Unit of the timeout
+     * @param action  - What to do with the player after the listeners are notified
+     */
+    void timeout(long timeout, TimeUnit unit, TimeoutAction action);
+
+    /**
+     * Sets if listener callbacks should be called away from the event loops, so slow listeners do not hold up network threads.
+     * Callbacks for the same player are still called one by one in the order of the pings.
+     * Virtual threads are used when the runtime supports them, a small pool of threads otherwise.
+     * The threads are stopped when the API instance is destroyed.
+     * Frame create and send callbacks are still called directly as they can change the frame.
+     * Disabled by default.
+     * <p>
+     * @param asyncListeners - If listeners should be called asynchronously
+     */
+    void asyncListeners(boolean asyncListeners);
+
     /**
      * Attaches a client ping listener to this {@link ClientPinger}
      * <p>
      * @param listener - Listener to attach
      */
     void attach(ClientPingerListener listener);
+
+    /**
+     * Detaches a client ping listener from this {@link ClientPinger}
+     * <p>
+     * @param listener - Listener to detach
+     */
+    void detach(ClientPingerListener listener);
+
+    /**
+     * Attaches a client ping listener that is called on the main thread instead of the event loop of the player.
+     * Pong results are collected and passed to {@link ClientPingerListener#onPongReceiveStart(UUID, int)},
+     * {@link ClientPingerListener#onPongReceiveEnd(UUID, int)} and {@link ClientPingerListener#onError(UUID, int)}
+     * once at the start of every tick, in the order they were received for each player.
+     * Other callbacks are not called for listeners attached this way.
+     * <p>
+     * @param listener - Listener to attach
+     */
+    void attachSynchronized(ClientPingerListener listener);
+
+    /**
+     * Gets the round trip time statistics of a player, measured using the pings sent by this {@link ClientPinger}.
+     * <p>
+     * @param player - Player to get statistics for
+     * @return       - Latency tracker, empty if the player is not registered
+     */
+    Optional<LatencyTracker> getLatency(UUID player);
 }
@@ -3,31 +3,72 @@ package dev.thomazz.pledge.pinger;
 import dev.thomazz.pledge.Pledge;
 import dev.thomazz.pledge.network.NetworkPacketConsolidator;
 import dev.thomazz.pledge.packet.PingPacketProvider;
-import dev.thomazz.pledge.pinger.data.Ping;
+import dev.thomazz.pledge.pinger.data.LatencyTracker;
 import dev.thomazz.pledge.pinger.data.PingData;
 import dev.thomazz.pledge.pinger.data.PingOrder;
+import dev.thomazz.pledge.pinger.data.PongInbox;
 import dev.thomazz.pledge.util.ChannelUtils;
+import dev.thomazz.pledge.util.OrderedExecutor;
 import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 @Getter
 public class ClientPingerImpl<SP> implements ClientPinger<SP> {
-    protected final Map<UUID, PingData> pingDataMap = new LinkedHashMap<>();
-    protected final List<ClientPingerListener> pingListeners = new ArrayList<>();
+    private static final AtomicInteger KEY_COUNTER = new AtomicInteger();
+
+    // Indexes of the callbacks in the listener table
+    protected static final int VALIDATION = 0;
+    protected static final int ERROR = 1;
+    protected static final int PING_SEND_START = 2;
+    protected static final int PING_SEND_END = 3;
+    protected static final int PONG_RECEIVE_START = 4;
+    protected static final int PONG_RECEIVE_END = 5;
+    protected static final int TIMEOUT = 6;
+    protected static final int PONG_BATCH = 7;
+    protected static final int SKIPPED = 8;
+
+    // Netty threads only access player state through this channel attribute
+    protected final AttributeKey<PingData> pingDataKey = AttributeKey.newInstance("pledge_ping_data_" + KEY_COUNTER.incrementAndGet());
+    // Registered players, only accessed from the main thread
+    protected final Map<UUID, Channel> playerChannels = new LinkedHashMap<>();
+    // Replaced on attach and detach, read from any thread
+    @Getter(AccessLevel.NONE)
+    protected volatile ListenerTable<ClientPingerListener> listeners = ListenerTable.create(
+        ClientPingerListener.class,
+        "onValidation", "onError", "onPingSendStart", "onPingSendEnd", "onPongReceiveStart", "onPongReceiveEnd", "onTimeout", "onPongBatch", "onSkipped"
+    );
+
+    // Listeners called from the main thread, copied on write
+    protected volatile ClientPingerListener[] syncListeners = new ClientPingerListener[0];
+    protected final PongInbox pongInbox = new PongInbox();
+    private final PongInbox.Handler inboxHandler = this::onSynchronized;
 
     protected final Pledge<SP> api;
     protected final int startId;
     protected final int endId;
 
     protected Predicate<SP> playerFilter = player -> true;
+    protected volatile boolean idleSuppression = false;
+    protected volatile boolean resync = false;
+    protected volatile int maxOutstanding = 0;
+    protected volatile long timeoutNanos = 0L;
+    protected volatile TimeoutAction timeoutAction = TimeoutAction.NOTIFY;
+    // Runs listener callbacks if they should not be called on the event loop
+    protected volatile OrderedExecutor listenerExecutor;
 
     public ClientPingerImpl(Pledge<SP> api, int startId, int endId) {
         this.api = api;
@@ -64,47 +105,223 @@ public class ClientPingerImpl<SP> implements ClientPinger<SP> {
     }
 
     @Override
-    public void attach(ClientPingerListener listener) {
-        this.pingListeners.add(listener);
+    public void idleSuppression(boolean idleSuppression) {
+        this.idleSuppression = idleSuppression;
+    }
+
+    @Override
+    public void resync(boolean resync) {
+        this.resync = resync;
+    }
+
+    @Override
+    public void maxOutstanding(int maxOutstanding) {
+        this.maxOutstanding = maxOutstanding;
+    }
+
+    @Override
+    public void timeout(long timeout, TimeUnit unit, TimeoutAction action) {
+        this.timeoutAction = action;
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    @Override
+    public synchronized void asyncListeners(boolean asyncListeners) {
+        OrderedExecutor executor = this.listenerExecutor;
+        if (asyncListeners == (executor != null)) {
+            return;
+        }
+
+        if (asyncListeners) {
+            this.listenerExecutor = new OrderedExecutor(this.api.logger());
+        } else {
+            this.listenerExecutor = null;
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public synchronized void attach(ClientPingerListener listener) {
+        this.listeners = this.listeners.with(listener);
+    }
+
+    @Override
+    public synchronized void detach(ClientPingerListener listener) {
+        this.listeners = this.listeners.without(listener);
+
+        for (int i = 0; i < this.syncListeners.length; i++) {
+            if (this.syncListeners[i] == listener) {
+                ClientPingerListener[] listeners = new ClientPingerListener[this.syncListeners.length - 1];
+                System.arraycopy(this.syncListeners, 0, listeners, 0, i);
+                System.arraycopy(this.syncListeners, i + 1, listeners, i, this.syncListeners.length - i - 1);
+                this.syncListeners = listeners;
+                break;
+            }
+        }
+    }
+
+    public List<ClientPingerListener> getPingListeners() {
+        return Collections.unmodifiableList(Arrays.asList(this.listeners.all()));
+    }
+
+    @Override
+    public synchronized void attachSynchronized(ClientPingerListener listener) {
+        ClientPingerListener[] listeners = Arrays.copyOf(this.syncListeners, this.syncListeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        this.syncListeners = listeners;
+    }
+
+    /**
+     * Passes all pong results received since the last call to the synchronized listeners.
+     * Should only be called from the main thread.
+     */
+    public void drainInbox() {
+        this.pongInbox.drain(this.inboxHandler);
+    }
+
+    private void onSynchronized(UUID player, int result, int id) {
+        for (ClientPingerListener listener : this.syncListeners) {
+            if (result == PingData.NO_MATCH) {
+                listener.onError(player, id);
+            } else if (result == PingOrder.TICK_START.ordinal()) {
+                listener.onPongReceiveStart(player, id);
+            } else {
+                listener.onPongReceiveEnd(player, id);
+            }
+        }
     }
 
     public void registerPlayer(SP player) {
         if (this.playerFilter.test(player)) {
             final UUID uuid = api.asUUID(player);
-            this.injectPlayer(uuid);
-            this.pingDataMap.put(uuid, new PingData(uuid,this));
+            this.api.getChannel(uuid).ifPresent(channel -> this.registerChannel(uuid, channel));
         }
     }
 
     public void unregisterPlayer(UUID player) {
-        this.pingDataMap.remove(player);
-        this.ejectPlayer(player);
+        Channel channel = this.playerChannels.remove(player);
+        if (channel != null) {
+            this.unregisterChannel(channel);
+        }
     }
 
-    protected void injectPlayer(UUID player) {
-        this.api.getChannel(player).ifPresent(channel ->
-                ChannelUtils.runInEventLoop(channel,
-                        () -> channel.pipeline().addLast("pledge_tick_consolidator", new NetworkPacketConsolidator(api))
-                )
-        );
+    protected void registerChannel(UUID player, Channel channel) {
+        channel.attr(this.pingDataKey).set(new PingData(player, this));
+        this.playerChannels.put(player, channel);
+        this.injectPlayer(channel);
+    }
+
+    protected void unregisterChannel(Channel channel) {
+        channel.attr(this.pingDataKey).set(null);
+        this.ejectPlayer(channel);
     }
 
-    protected void ejectPlayer(UUID player) {
-        this.api.getChannel(player).ifPresent(channel ->
-                ChannelUtils.runInEventLoop(channel,
-                        () -> channel.pipeline().remove(NetworkPacketConsolidator.class)
+    protected void injectPlayer(Channel channel) {
+        ChannelUtils.runInEventLoop(channel,
+                () -> channel.pipeline().addLast(
+                        "pledge_tick_consolidator",
+                        new NetworkPacketConsolidator(api, () -> this.activeTickStart(channel))
                 )
         );
     }
 
-    protected void ping(UUID player, Channel channel, Ping ping) {
+    protected void ejectPlayer(Channel channel) {
+        ChannelUtils.runInEventLoop(channel, () -> {
+            // Pipeline might already be torn down when the player disconnected
+            if (channel.pipeline().get(NetworkPacketConsolidator.class) != null) {
+                channel.pipeline().remove(NetworkPacketConsolidator.class);
+            }
+        });
+    }
+
+    protected void ping(Channel channel, PingData data, PingOrder order, int id) {
         if (!channel.eventLoop().inEventLoop()) {
             throw new IllegalStateException("Tried to run ping outside event loop!");
         }
 
-        this.api.sendPingRaw(player, channel, ping.getId());
-        this.getPingData(player).ifPresent(data -> data.offer(ping));
-        this.onSend(player, ping);
+        UUID player = data.getPlayer();
+        this.api.sendPingRaw(player, channel, id);
+        data.offer(order, id);
+        this.onSend(player, order, id);
+    }
+
+    /**
+     * Matches a received pong against the outstanding pings of a player.
+     * <p>
+     * @param channel - Channel of the player
+     * @param data    - Ping data of the player
+     * @param id      - ID of the received pong
+     * @return        - If the pong was the next expected ping
+     */
+    public boolean receivePong(Channel channel, PingData data, int id) {
+        int result = data.confirm(id);
+
+        // Drop the pings sent before the received one, so later pongs match again
+        if (result == PingData.NO_MATCH && this.resync) {
+            int offset = data.indexOf(id);
+            if (offset > 0) {
+                int from = data.peekId();
+                int to = data.peekId(offset - 1);
+
+                data.skip(offset);
+                this.onSkipped(channel, data, from, to);
+                result = data.confirm(id);
+            }
+        }
+
+        if (result == PingData.NO_MATCH) {
+            this.onError(data.getPlayer(), channel, id);
+            return false;
+        }
+
+        if (this.listeners.has(ClientPingerImpl.PONG_BATCH)) {
+            data.addBatch(id);
+        }
+
+        this.onReceive(data.getPlayer(), channel, PingOrder.fromOrdinal(result), id);
+        return true;
+    }
+
+    /**
+     * Notifies listeners of all pongs matched since the last call.
+     * <p>
+     * @param channel - Channel of the player
+     */
+    public void flushPongs(Channel channel) {
+        PingData data = this.getPingData(channel);
+        if (data != null && data.getBatchSize() > 0) {
+            UUID player = data.getPlayer();
+            int[] ids = data.getBatchIds();
+            int count = data.getBatchSize();
+
+            data.clearBatch();
+
+            ClientPingerListener[] listeners = this.listeners.get(ClientPingerImpl.PONG_BATCH);
+            OrderedExecutor executor = this.listenerExecutor;
+            if (executor != null) {
+                // Array is reused for the next batch
+                int[] copy = Arrays.copyOf(ids, count);
+                executor.execute(player, () -> {
+                    for (ClientPingerListener listener : listeners) {
+                        listener.onPongBatch(player, copy, count);
+                    }
+                });
+            } else {
+                for (ClientPingerListener listener : listeners) {
+                    listener.onPongBatch(player, ids, count);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Optional<LatencyTracker> getLatency(UUID player) {
+        return this.getPingData(player).map(PingData::getLatency);
+    }
+
+    protected boolean exceedsOutstanding(PingData data) {
+        int max = this.maxOutstanding;
+        return max > 0 && data.outstanding() >= max;
     }
 
     public boolean isInRange(int id) {
@@ -112,77 +329,207 @@ public class ClientPingerImpl<SP> implements ClientPinger<SP> {
     }
 
     public Optional<PingData> getPingData(UUID player) {
-        return Optional.of(this.pingDataMap.get(player));
+        return this.api.getChannel(player).map(this::getPingData);
     }
 
-    protected void onSend(UUID player, Ping ping) {
-        switch (ping.getOrder()) {
+    @Nullable
+    public PingData getPingData(Channel channel) {
+        return channel.attr(this.pingDataKey).get();
+    }
+
+    protected void onSend(UUID player, PingOrder order, int id) {
+        switch (order) {
             case TICK_START:
-                this.onSendStart(player, ping.getId());
+                this.onSendStart(player, id);
                 break;
             case TICK_END:
-                this.onSendEnd(player, ping.getId());
+                this.onSendEnd(player, id);
                 break;
         }
     }
 
-    public void onReceive(UUID player, Ping ping) {
-        switch (ping.getOrder()) {
+    public void onReceive(UUID player, Channel channel, PingOrder order, int id) {
+        switch (order) {
             case TICK_START:
-                this.onReceiveStart(player, ping.getId());
+                this.onReceiveStart(player, channel, id);
                 break;
             case TICK_END:
-                this.onReceiveEnd(player, ping.getId());
+                this.onReceiveEnd(player, channel, id);
+                break;
+        }
+    }
+
+    protected void checkTimeout(Channel channel, PingData data) {
+        long timeout = this.timeoutNanos;
+        if (timeout <= 0L) {
+            return;
+        }
+
+        long elapsed = data.pollTimeout(System.nanoTime(), timeout);
+        if (elapsed >= 0L) {
+            this.onTimeout(channel, data, data.peekId(), elapsed);
+        }
+    }
+
+    protected void onTimeout(Channel channel, PingData data, int id, long elapsed) {
+        UUID player = data.getPlayer();
+        ClientPingerListener[] listeners = this.listeners.get(ClientPingerImpl.TIMEOUT);
+        if (listeners.length > 0) {
+            this.dispatch(player, () -> {
+                for (ClientPingerListener listener : listeners) {
+                    listener.onTimeout(player, id, elapsed);
+                }
+            });
+        }
+
+        switch (this.timeoutAction) {
+            case RESET:
+                this.resetPlayer(channel, data);
                 break;
+            case DISCONNECT:
+                channel.close();
+                break;
+        }
+    }
+
+    protected void onSkipped(Channel channel, PingData data, int from, int to) {
+        UUID player = data.getPlayer();
+        ClientPingerListener[] listeners = this.listeners.get(ClientPingerImpl.SKIPPED);
+        if (listeners.length > 0) {
+            this.dispatch(player, () -> {
+                for (ClientPingerListener listener : listeners) {
+                    listener.onSkipped(player, from, to);
+                }
+            });
         }
     }
 
+    protected void resetPlayer(Channel channel, PingData data) {
+        data.reset();
+    }
+
+    public void onValidation(UUID player, int id) {
+        this.dispatch(player, id, ClientPingerImpl.VALIDATION, ClientPingerListener::onValidation);
+    }
+
     public void onError(UUID player, int id) {
-        this.pingListeners.forEach(listener -> listener.onError(player, id));
+        this.dispatch(player, id, ClientPingerImpl.ERROR, ClientPingerListener::onError);
+    }
+
+    protected void onError(UUID player, Channel channel, int id) {
+        this.onError(player, id);
+
+        if (this.syncListeners.length > 0) {
+            this.pongInbox.offer(channel.eventLoop(), player, PingData.NO_MATCH, id);
+        }
     }
 
     protected void onSendStart(UUID player, int id) {
-        this.pingListeners.forEach(listener -> listener.onPingSendStart(player, id));
+        this.dispatch(player, id, ClientPingerImpl.PING_SEND_START, ClientPingerListener::onPingSendStart);
     }
 
     protected void onSendEnd(UUID player, int id) {
-        this.pingListeners.forEach(listener -> listener.onPingSendEnd(player, id));
+        this.dispatch(player, id, ClientPingerImpl.PING_SEND_END, ClientPingerListener::onPingSendEnd);
     }
 
-    protected void onReceiveStart(UUID player, int id) {
-        this.pingListeners.forEach(listener -> listener.onPongReceiveStart(player, id));
+    protected void onReceiveStart(UUID player, Channel channel, int id) {
+        this.dispatch(player, id, ClientPingerImpl.PONG_RECEIVE_START, ClientPingerListener::onPongReceiveStart);
+
+        if (this.syncListeners.length > 0) {
+            this.pongInbox.offer(channel.eventLoop(), player, PingOrder.TICK_START.ordinal(), id);
+        }
     }
 
-    protected void onReceiveEnd(UUID player, int id) {
-        this.pingListeners.forEach(listener -> listener.onPongReceiveEnd(player, id));
+    protected void onReceiveEnd(UUID player, Channel channel, int id) {
+        this.dispatch(player, id, ClientPingerImpl.PONG_RECEIVE_END, ClientPingerListener::onPongReceiveEnd);
+
+        if (this.syncListeners.length > 0) {
+            this.pongInbox.offer(channel.eventLoop(), player, PingOrder.TICK_END.ordinal(), id);
+        }
     }
 
-    public void tickStart() {
-        this.pingDataMap.forEach((player, data) ->
-                this.api.getChannel(player).ifPresent(channel ->
-                        ChannelUtils.runInEventLoop(channel, () -> {
-                            NetworkPacketConsolidator consolidator = channel.pipeline().get(NetworkPacketConsolidator.class);
-                            if (consolidator != null) {
-                                consolidator.open();
-                                this.ping(player, channel, new Ping(PingOrder.TICK_START, data.pullId()));
-                                consolidator.drain(channel.pipeline().lastContext());
-                            }
-                        })
-                )
-        );
+    /**
+     * Calls the listeners overriding a callback, on the listener executor if listeners are called asynchronously.
+     * <p>
+     * @param player   - Player to call listeners for
+     * @param id       - ID of ping
+     * @param index    - Index of the callback in the listener table
+     * @param callback - Listener method to call
+     */
+    protected void dispatch(UUID player, int id, int index, Callback callback) {
+        ClientPingerListener[] listeners = this.listeners.get(index);
+        if (listeners.length == 0) {
+            return;
+        }
+
+        OrderedExecutor executor = this.listenerExecutor;
+        if (executor != null) {
+            executor.execute(player, () -> ClientPingerImpl.call(listeners, player, id, callback));
+        } else {
+            ClientPingerImpl.call(listeners, player, id, callback);
+        }
     }
 
-    public void tickEnd() {
-        this.pingDataMap.forEach((player, data) ->
-                this.api.getChannel(player).ifPresent(channel ->
-                        ChannelUtils.runInEventLoop(channel, () -> {
-                            NetworkPacketConsolidator consolidator = channel.pipeline().get(NetworkPacketConsolidator.class);
-                            if (consolidator != null) {
-                                this.ping(player, channel, new Ping(PingOrder.TICK_END, data.pullId()));
-                                consolidator.close();
-                            }
-                        })
-                )
-        );
+    protected void dispatch(UUID player, Runnable callbacks) {
+        OrderedExecutor executor = this.listenerExecutor;
+        if (executor != null) {
+            executor.execute(player, callbacks);
+        } else {
+            callbacks.run();
+        }
+    }
+
+    private static void call(ClientPingerListener[] listeners, UUID player, int id, Callback callback) {
+        for (ClientPingerListener listener : listeners) {
+            callback.call(listener, player, id);
+        }
+    }
+
+    @FunctionalInterface
+    protected interface Callback {
+        void call(ClientPingerListener listener, UUID player, int id);
+    }
+
+    public void tickStart(Channel channel) {
+        PingData data = this.getPingData(channel);
+        NetworkPacketConsolidator consolidator = channel.pipeline().get(NetworkPacketConsolidator.class);
+        if (data != null && consolidator != null) {
+            consolidator.open();
+
+            // Skip ticks while the client is not responding, the next ping sent confirms them once it catches up
+            data.setStalled(this.exceedsOutstanding(data));
+
+            if (!data.isStalled()) {
+                if (this.idleSuppression && !consolidator.hasQueued()) {
+                    // Delay the start ping until the first packet of the tick
+                    consolidator.arm();
+                } else {
+                    this.ping(channel, data, PingOrder.TICK_START, data.pullId());
+                }
+            }
+
+            consolidator.drain(channel.pipeline().lastContext());
+        }
+    }
+
+    public void tickEnd(Channel channel) {
+        PingData data = this.getPingData(channel);
+        NetworkPacketConsolidator consolidator = channel.pipeline().get(NetworkPacketConsolidator.class);
+        if (data != null && consolidator != null) {
+            // Nothing was sent this tick or the start ping was skipped, so neither ping is needed
+            if (!consolidator.disarm() && !data.isStalled()) {
+                this.ping(channel, data, PingOrder.TICK_END, data.pullId());
+            }
+
+            consolidator.close();
+            this.checkTimeout(channel, data);
+        }
+    }
+
+    private void activeTickStart(Channel channel) {
+        PingData data = this.getPingData(channel);
+        if (data != null) {
+            this.ping(channel, data, PingOrder.TICK_START, data.pullId());
+        }
     }
 }
@@ -53,4 +53,35 @@ public interface ClientPingerListener {
      * @param id     - ID of ping
      */
     default void onPongReceiveEnd(UUID player, int id) {}
+
+    /**
+     * Called when the oldest unanswered ping of a player exceeds the timeout of the {@link ClientPinger}.
+     * Only called once for every ping, pings sent after it are not reported separately.
+     * <p>
+     * @param player  - Player that did not respond
+     * @param id      - ID of ping
+     * @param elapsed - Nanoseconds since the ping was sent
+     */
+    default void onTimeout(UUID player, int id, long elapsed) {}
+
+    /**
+     * Called with all pongs of a player that were matched during a single network read.
+     * The per pong callbacks are called before this, so a catch-up burst of pongs can be handled in one pass here.
+     * <p>
+     * @param player - Player that the ping responses are received from
+     * @param ids    - IDs of the pings in the order they were received, the array is reused after this call
+     * @param count  - Amount of valid IDs in the array
+     */
+    default void onPongBatch(UUID player, int[] ids, int count) {}
+
+    /**
+     * Called when a player responds to a ping further down the outstanding pings,
+     * only if resynchronization is enabled for the {@link ClientPinger}.
+     * The responses to all pings sent before it are considered lost.
+     * <p>
+     * @param player - Player that the ping response is received from
+     * @param from   - ID of the first skipped ping
+     * @param to     - ID of the last skipped ping
+     */
+    default void onSkipped(UUID player, int from, int to) {}
 }
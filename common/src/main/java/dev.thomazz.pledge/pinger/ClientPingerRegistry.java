@@ -0,0 +1,125 @@
+package dev.thomazz.pledge.pinger;
+
+import dev.thomazz.pledge.Pledge;
+import dev.thomazz.pledge.pinger.data.PingData;
+import dev.thomazz.pledge.util.EventLoopBatcher;
+import io.netty.channel.Channel;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of all client pingers and drives them for every player.
+ * Tick edges are handled with a single task per event loop that walks over all of its players.
+ */
+public class ClientPingerRegistry<SP> {
+    private final List<ClientPingerImpl<SP>> pingers = new CopyOnWriteArrayList<>();
+    private final EventLoopBatcher players = new EventLoopBatcher();
+    private volatile PingerRoutingTable routes = PingerRoutingTable.build(Collections.emptyList());
+
+    private final Pledge<SP> api;
+    private final Consumer<Channel> tickStartTask = this::tickStart;
+    private final Consumer<Channel> tickEndTask = this::tickEnd;
+
+    public ClientPingerRegistry(Pledge<SP> api) {
+        this.api = api;
+    }
+
+    public synchronized void addPinger(ClientPingerImpl<SP> pinger) {
+        this.pingers.add(pinger);
+        this.routes = PingerRoutingTable.build(this.pingers);
+    }
+
+    public List<ClientPingerImpl<SP>> getPingers() {
+        return Collections.unmodifiableList(this.pingers);
+    }
+
+    /**
+     * Passes a received pong to the pingers owning its ID.
+     * <p>
+     * @param channel - Channel the pong was received on
+     * @param id      - ID of the pong
+     * @return        - If any pinger expected the pong
+     */
+    public boolean receivePong(Channel channel, int id) {
+        boolean validated = false;
+        for (ClientPingerImpl<?> pinger : this.routes.route(id)) {
+            PingData data = pinger.getPingData(channel);
+            if (data != null && pinger.receivePong(channel, data, id)) {
+                validated = true;
+            }
+        }
+
+        return validated;
+    }
+
+    // Ends a batch of pongs received by the channel
+    public void flushPongs(Channel channel) {
+        for (ClientPingerImpl<SP> pinger : this.pingers) {
+            pinger.flushPongs(channel);
+        }
+    }
+
+    public void registerPlayer(SP player, Channel channel) {
+        this.players.add(channel);
+        this.pingers.forEach(pinger -> pinger.registerPlayer(player));
+    }
+
+    public void unregisterPlayer(UUID player, Channel channel) {
+        if (channel != null) {
+            this.players.remove(channel);
+        }
+
+        this.pingers.forEach(pinger -> pinger.unregisterPlayer(player));
+    }
+
+    // Stops the asynchronous listener threads of all pingers
+    public void shutdown() {
+        for (ClientPingerImpl<SP> pinger : this.pingers) {
+            pinger.asyncListeners(false);
+        }
+    }
+
+    public void tickStart() {
+        // Hand pong results received during the last tick to the main thread
+        for (ClientPingerImpl<SP> pinger : this.pingers) {
+            try {
+                pinger.drainInbox();
+            } catch (Exception ex) {
+                this.api.logger().severe("Failed to pass pong results to synchronized listeners!");
+                ex.printStackTrace();
+            }
+        }
+
+        this.players.execute(this.tickStartTask);
+    }
+
+    public void tickEnd() {
+        this.players.execute(this.tickEndTask);
+    }
+
+    private void tickStart(Channel channel) {
+        for (ClientPingerImpl<SP> pinger : this.pingers) {
+            try {
+                pinger.tickStart(channel);
+            } catch (Exception ex) {
+                this.api.logger().severe("Failed to run tick start for channel: " + channel);
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    private void tickEnd(Channel channel) {
+        for (ClientPingerImpl<SP> pinger : this.pingers) {
+            try {
+                pinger.tickEnd(channel);
+            } catch (Exception ex) {
+                this.api.logger().severe("Failed to run tick end for channel: " + channel);
+                ex.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package dev.thomazz.pledge.pinger;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Immutable set of listeners, grouped by the callbacks each listener actually overrides.
+ * <p>
+ * Attaching or detaching creates a new table, so tables can be read from any thread without locking.
+ * Callbacks that are only inherited as no-op default methods are never called.
+ */
+public final class ListenerTable<L> {
+    private final Class<L> type;
+    private final Method[] callbacks;
+    private final L[] listeners;
+    private final L[][] byCallback;
+
+    private ListenerTable(Class<L> type, Method[] callbacks, L[] listeners) {
+        this.type = type;
+        this.callbacks = callbacks;
+        this.listeners = listeners;
+        this.byCallback = this.newMatrix(callbacks.length);
+
+        for (int i = 0; i < callbacks.length; i++) {
+            int count = 0;
+            L[] overriding = this.newArray(listeners.length);
+            for (L listener : listeners) {
+                if (ListenerTable.overrides(listener, callbacks[i])) {
+                    overriding[count++] = listener;
+                }
+            }
+
+            this.byCallback[i] = Arrays.copyOf(overriding, count);
+        }
+    }
+
+    /**
+     * Creates an empty table.
+     * <p>
+     * @param type      - Listener type
+     * @param callbacks - Names of the callback methods of the listener type, indexed by their position
+     * @return          - Empty listener table
+     */
+    public static <L> ListenerTable<L> create(Class<L> type, String... callbacks) {
+        Method[] methods = new Method[callbacks.length];
+        for (int i = 0; i < callbacks.length; i++) {
+            methods[i] = ListenerTable.findMethod(type, callbacks[i]);
+        }
+
+        return new ListenerTable<>(type, methods, ListenerTable.newArray(type, 0));
+    }
+
+    public ListenerTable<L> with(L listener) {
+        L[] listeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+        listeners[this.listeners.length] = listener;
+        return new ListenerTable<>(this.type, this.callbacks, listeners);
+    }
+
+    public ListenerTable<L> without(L listener) {
+        for (int i = 0; i < this.listeners.length; i++) {
+            if (this.listeners[i] == listener) {
+                L[] listeners = this.newArray(this.listeners.length - 1);
+                System.arraycopy(this.listeners, 0, listeners, 0, i);
+                System.arraycopy(this.listeners, i + 1, listeners, i, this.listeners.length - i - 1);
+                return new ListenerTable<>(this.type, this.callbacks, listeners);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the listeners overriding a callback, the returned array should not be modified.
+     * <p>
+     * @param callback - Index of the callback
+     * @return         - Listeners to call
+     */
+    public L[] get(int callback) {
+        return this.byCallback[callback];
+    }
+
+    public boolean has(int callback) {
+        return this.byCallback[callback].length > 0;
+    }
+
+    public L[] all() {
+        return this.listeners;
+    }
+
+    private static boolean overrides(Object listener, Method callback) {
+        try {
+            Method method = listener.getClass().getMethod(callback.getName(), callback.getParameterTypes());
+            return method.getDeclaringClass() != callback.getDeclaringClass();
+        } catch (NoSuchMethodException ex) {
+            // Should not happen, call the listener to be safe
+            return true;
+        }
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+
+        throw new IllegalArgumentException("No callback " + name + " in " + type.getName());
+    }
+
+    private L[] newArray(int length) {
+        return ListenerTable.newArray(this.type, length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <L> L[] newArray(Class<L> type, int length) {
+        return (L[]) Array.newInstance(type, length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private L[][] newMatrix(int length) {
+        return (L[][]) Array.newInstance(this.type, length, 0);
+    }
+}
@@ -0,0 +1,148 @@
+package dev.thomazz.pledge.pinger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Index from ping ID to the pingers whose ID range contains it.
+ * <p>
+ * Ranges are split into sorted disjoint segments, each holding every pinger covering it since ranges can overlap.
+ * Small ID spaces like the transaction ID range are expanded into a flat table indexed directly by ID,
+ * larger spaces are resolved with a binary search over the segments.
+ * Tables are immutable, a new table is built whenever the set of pingers changes.
+ */
+public final class PingerRoutingTable {
+    // Largest span of IDs that is expanded into a flat table
+    public static final int MAX_FLAT_SPAN = 1 << 16;
+
+    private static final ClientPingerImpl<?>[] NONE = new ClientPingerImpl<?>[0];
+
+    private final long[] segmentStarts;
+    private final long[] segmentEnds;
+    private final ClientPingerImpl<?>[][] segmentPingers;
+
+    private final long flatBase;
+    private final ClientPingerImpl<?>[][] flat;
+
+    private PingerRoutingTable(long[] segmentStarts, long[] segmentEnds, ClientPingerImpl<?>[][] segmentPingers) {
+        this.segmentStarts = segmentStarts;
+        this.segmentEnds = segmentEnds;
+        this.segmentPingers = segmentPingers;
+
+        int segments = segmentStarts.length;
+        long span = segments == 0 ? 0L : segmentEnds[segments - 1] - segmentStarts[0];
+
+        if (segments > 0 && span <= PingerRoutingTable.MAX_FLAT_SPAN) {
+            this.flatBase = segmentStarts[0];
+            this.flat = new ClientPingerImpl<?>[(int) span][];
+            Arrays.fill(this.flat, PingerRoutingTable.NONE);
+
+            for (int i = 0; i < segments; i++) {
+                int from = (int) (segmentStarts[i] - this.flatBase);
+                int to = (int) (segmentEnds[i] - this.flatBase);
+                Arrays.fill(this.flat, from, to, segmentPingers[i]);
+            }
+        } else {
+            this.flatBase = 0L;
+            this.flat = null;
+        }
+    }
+
+    public static PingerRoutingTable build(Collection<? extends ClientPingerImpl<?>> pingers) {
+        ClientPingerImpl<?>[] all = pingers.toArray(new ClientPingerImpl<?>[0]);
+
+        // Segment boundaries, ranges are inclusive so the end boundary is one past the highest ID
+        long[] bounds = new long[all.length * 2];
+        for (int i = 0; i < all.length; i++) {
+            bounds[i * 2] = PingerRoutingTable.lowest(all[i]);
+            bounds[i * 2 + 1] = PingerRoutingTable.highest(all[i]) + 1L;
+        }
+
+        Arrays.sort(bounds);
+
+        List<long[]> ranges = new ArrayList<>();
+        List<ClientPingerImpl<?>[]> owners = new ArrayList<>();
+        List<ClientPingerImpl<?>> covering = new ArrayList<>();
+
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            long from = bounds[i];
+            long to = bounds[i + 1];
+            if (from == to) {
+                continue;
+            }
+
+            // Keep registration order for pingers sharing a segment
+            covering.clear();
+            for (ClientPingerImpl<?> pinger : all) {
+                if (PingerRoutingTable.lowest(pinger) <= from && PingerRoutingTable.highest(pinger) + 1L >= to) {
+                    covering.add(pinger);
+                }
+            }
+
+            if (covering.isEmpty()) {
+                continue;
+            }
+
+            ClientPingerImpl<?>[] segment = covering.toArray(new ClientPingerImpl<?>[0]);
+            int last = ranges.size() - 1;
+
+            // Merge with the previous segment if nothing changed
+            if (last >= 0 && ranges.get(last)[1] == from && Arrays.equals(owners.get(last), segment)) {
+                ranges.get(last)[1] = to;
+            } else {
+                ranges.add(new long[] {from, to});
+                owners.add(segment);
+            }
+        }
+
+        long[] starts = new long[ranges.size()];
+        long[] ends = new long[ranges.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = ranges.get(i)[0];
+            ends[i] = ranges.get(i)[1];
+        }
+
+        return new PingerRoutingTable(starts, ends, owners.toArray(new ClientPingerImpl<?>[0][]));
+    }
+
+    /**
+     * Resolves the pingers owning a ping ID.
+     * <p>
+     * @param id - Ping ID
+     * @return   - Pingers with the ID in their range, the returned array should not be modified
+     */
+    public ClientPingerImpl<?>[] route(int id) {
+        if (this.flat != null) {
+            long index = id - this.flatBase;
+            return index >= 0L && index < this.flat.length ? this.flat[(int) index] : PingerRoutingTable.NONE;
+        }
+
+        // Last segment starting at or before the ID
+        int low = 0;
+        int high = this.segmentStarts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (this.segmentStarts[mid] <= id) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return high >= 0 && id < this.segmentEnds[high] ? this.segmentPingers[high] : PingerRoutingTable.NONE;
+    }
+
+    public boolean isFlat() {
+        return this.flat != null;
+    }
+
+    private static long lowest(ClientPingerImpl<?> pinger) {
+        return Math.min(pinger.startId(), pinger.endId());
+    }
+
+    private static long highest(ClientPingerImpl<?> pinger) {
+        return Math.max(pinger.startId(), pinger.endId());
+    }
+}
@@ -0,0 +1,13 @@
+package dev.thomazz.pledge.pinger;
+
+/**
+ * What a {@link ClientPinger} does with a player once a ping timed out.
+ */
+public enum TimeoutAction {
+    // Only notify listeners
+    NOTIFY,
+    // Forget all outstanding pings, late responses are reported as errors
+    RESET,
+    // Close the connection of the player
+    DISCONNECT
+}
@@ -0,0 +1,139 @@
+package dev.thomazz.pledge.pinger.data;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Round trip time statistics of a single player, measured from sending a ping until its pong is confirmed.
+ * <p>
+ * Samples are only recorded from the event loop of the player's channel, values can be read from any thread.
+ * All times are in nanoseconds.
+ */
+public class LatencyTracker {
+    // Bucket i of the histogram holds samples of less than 2^i microseconds, the last bucket holds everything above
+    public static final int BUCKETS = 24;
+
+    private final AtomicLongArray histogram = new AtomicLongArray(LatencyTracker.BUCKETS);
+
+    private volatile long samples;
+    private volatile long lastRtt = -1L;
+    private volatile long smoothedRtt = -1L;
+    private volatile long jitter;
+
+    public void record(long rtt) {
+        if (rtt < 0L) {
+            return;
+        }
+
+        // Same smoothing factors as TCP retransmission timers (RFC 6298)
+        long smoothed = this.smoothedRtt;
+        if (smoothed < 0L) {
+            this.jitter = rtt >> 1;
+            this.smoothedRtt = rtt;
+        } else {
+            this.jitter += (Math.abs(smoothed - rtt) - this.jitter) >> 2;
+            this.smoothedRtt = smoothed + ((rtt - smoothed) >> 3);
+        }
+
+        this.lastRtt = rtt;
+
+        // Single writer, so no need for atomic increments
+        int bucket = LatencyTracker.bucket(rtt);
+        this.histogram.lazySet(bucket, this.histogram.get(bucket) + 1L);
+        this.samples = this.samples + 1L;
+    }
+
+    /**
+     * Amount of round trip times recorded.
+     * <p>
+     * @return - Sample count
+     */
+    public long getSamples() {
+        return this.samples;
+    }
+
+    /**
+     * Most recent round trip time.
+     * <p>
+     * @return - Last round trip time, or -1 if nothing was recorded yet
+     */
+    public long getLastRtt() {
+        return this.lastRtt;
+    }
+
+    /**
+     * Exponentially weighted moving average of the round trip time.
+     * <p>
+     * @return - Smoothed round trip time, or -1 if nothing was recorded yet
+     */
+    public long getSmoothedRtt() {
+        return this.smoothedRtt;
+    }
+
+    /**
+     * Smoothed mean deviation of the round trip time.
+     * <p>
+     * @return - Round trip time jitter
+     */
+    public long getJitter() {
+        return this.jitter;
+    }
+
+    /**
+     * Estimates a percentile of all recorded round trip times.
+     * Precision is limited to the power of two histogram buckets, the upper bound of the matching bucket is returned.
+     * <p>
+     * @param percentile - Percentile between 0 and 1
+     * @return           - Round trip time upper bound, or -1 if nothing was recorded yet
+     */
+    public long getPercentile(double percentile) {
+        long[] histogram = this.getHistogram();
+
+        long total = 0L;
+        for (long count : histogram) {
+            total += count;
+        }
+
+        if (total == 0L) {
+            return -1L;
+        }
+
+        long target = Math.max(1L, (long) Math.ceil(total * Math.min(Math.max(percentile, 0.0D), 1.0D)));
+        long seen = 0L;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= target) {
+                return LatencyTracker.upperBound(i);
+            }
+        }
+
+        return LatencyTracker.upperBound(histogram.length - 1);
+    }
+
+    /**
+     * Copies the current histogram counts, see {@link #BUCKETS} for the bucket layout.
+     * <p>
+     * @return - Sample count for each bucket
+     */
+    public long[] getHistogram() {
+        long[] counts = new long[LatencyTracker.BUCKETS];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = this.histogram.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Upper bound of a histogram bucket.
+     * <p>
+     * @param bucket - Bucket index
+     * @return       - Exclusive upper bound in nanoseconds
+     */
+    public static long upperBound(int bucket) {
+        return bucket == LatencyTracker.BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) * 1000L;
+    }
+
+    private static int bucket(long rtt) {
+        long micros = rtt / 1000L;
+        return Math.min(LatencyTracker.BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+}
@@ -2,22 +2,55 @@ package dev.thomazz.pledge.pinger.data;
 
 import dev.thomazz.pledge.pinger.ClientPingerImpl;
 import lombok.Getter;
-import org.jetbrains.annotations.NotNull;
+import lombok.Setter;
 
-import java.util.Optional;
-import java.util.Queue;
+import java.util.Arrays;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
-@Getter
+/**
+ * Ping state of a single player for a {@link ClientPingerImpl}.
+ * Outstanding pings are only offered and confirmed from the event loop of the player's channel.
+ */
 public class PingData {
-    private final Queue<Ping> expectingIds = new ConcurrentLinkedQueue<>();
+    // Result of confirming an ID that is not the next expected ping
+    public static final int NO_MATCH = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final AtomicIntegerFieldUpdater<PingData> ID_UPDATER = AtomicIntegerFieldUpdater.newUpdater(PingData.class, "id");
+
+    @Getter
     private final UUID player;
+    @Getter
     private final ClientPingerImpl<?> pinger;
 
+    // Ring of outstanding pings, ping ID in the lower and ping order in the upper half of each entry
+    private long[] expecting = new long[PingData.INITIAL_CAPACITY];
+    // Send time of each outstanding ping, parallel to the ring above
+    private long[] sendTimes = new long[PingData.INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    // If the timeout of the oldest outstanding ping was reported already
+    private boolean headTimedOut;
+
+    // Pongs matched since the last batch was flushed
+    @Getter
+    private int[] batchIds = new int[PingData.INITIAL_CAPACITY];
+    @Getter
+    private int batchSize;
+
+    @Getter
+    private final LatencyTracker latency = new LatencyTracker();
+
+    @Getter
     private boolean validated = false;
-    private int id;
+    // If pings were skipped because too many are outstanding, only accessed from the event loop
+    @Getter
+    @Setter
+    private boolean stalled = false;
+    // IDs can be pulled from any thread
+    @Getter
+    private volatile int id;
 
     public PingData(UUID player, ClientPingerImpl<?> pinger) {
         this.player = player;
@@ -30,34 +63,174 @@ public class PingData {
         int endId = this.pinger.endId();
 
         boolean direction = endId - startId > 0;
-        int oldId = this.id;
-        int newId = oldId + (direction ? 1 : -1);
+        int oldId;
+        int newId;
 
-        if (direction ? newId > endId : newId < endId) {
-            newId = startId;
-        }
+        do {
+            oldId = this.id;
+            newId = oldId + (direction ? 1 : -1);
+
+            if (direction ? newId > endId : newId < endId) {
+                newId = startId;
+            }
+        } while (!PingData.ID_UPDATER.compareAndSet(this, oldId, newId));
 
-        this.id = newId;
         return oldId;
     }
 
-    public void offer(@NotNull Ping ping) {
-        this.expectingIds.add(ping);
+    public void offer(PingOrder order, int id) {
+        if (this.size == this.expecting.length) {
+            this.grow();
+        }
+
+        int tail = (this.head + this.size) & (this.expecting.length - 1);
+        this.expecting[tail] = ((long) order.ordinal() << 32) | (id & 0xFFFFFFFFL);
+        this.sendTimes[tail] = System.nanoTime();
+        this.size++;
+    }
+
+    /**
+     * Confirms the next outstanding ping if it matches the ID.
+     * <p>
+     * @param id - ID of the received pong
+     * @return   - Ordinal of the {@link PingOrder} of the confirmed ping, or {@link #NO_MATCH}
+     */
+    public int confirm(int id) {
+        if (this.size == 0) {
+            return PingData.NO_MATCH;
+        }
+
+        long entry = this.expecting[this.head];
+        if ((int) entry != id) {
+            return PingData.NO_MATCH;
+        }
+
+        this.latency.record(System.nanoTime() - this.sendTimes[this.head]);
+
+        // Make sure to notify validation with the first correct ping received
+        if (!this.validated) {
+            this.pinger.onValidation(this.player, id);
+            this.validated = true;
+        }
+
+        this.head = (this.head + 1) & (this.expecting.length - 1);
+        this.size--;
+        this.headTimedOut = false;
+        return (int) (entry >>> 32);
+    }
+
+    /**
+     * Checks if the oldest outstanding ping exceeded the timeout, reporting every ping only once.
+     * <p>
+     * @param now     - Current time from {@link System#nanoTime()}
+     * @param timeout - Timeout in nanoseconds
+     * @return        - Nanoseconds since the oldest ping was sent if it timed out, otherwise -1
+     */
+    public long pollTimeout(long now, long timeout) {
+        if (this.size == 0 || this.headTimedOut) {
+            return -1L;
+        }
+
+        long elapsed = now - this.sendTimes[this.head];
+        if (elapsed < timeout) {
+            return -1L;
+        }
+
+        this.headTimedOut = true;
+        return elapsed;
+    }
+
+    /**
+     * Gets the ID of the oldest outstanding ping.
+     * <p>
+     * @return - Ping ID
+     * @throws IllegalStateException - If no pings are outstanding
+     */
+    public int peekId() {
+        return this.peekId(0);
     }
 
-    public Optional<Ping> confirm(int id) {
-        Ping ping = this.expectingIds.peek();
+    /**
+     * Gets the ID of an outstanding ping.
+     * <p>
+     * @param offset - Position of the ping, 0 being the oldest outstanding ping
+     * @return       - Ping ID
+     * @throws IllegalStateException - If there is no outstanding ping at the position
+     */
+    public int peekId(int offset) {
+        if (offset < 0 || offset >= this.size) {
+            throw new IllegalStateException("No outstanding ping at " + offset + "!");
+        }
+
+        return (int) this.expecting[(this.head + offset) & (this.expecting.length - 1)];
+    }
 
-        if (ping != null && ping.getId() == id) {
-            // Make sure to notify validation with the first correct ping received
-            if (!this.validated) {
-                this.pinger.getPingListeners().forEach(listener -> listener.onValidation(this.player, id));
-                this.validated = true;
+    /**
+     * Finds an ID in the outstanding pings.
+     * <p>
+     * @param id - ID to find
+     * @return   - Position of the oldest ping with the ID, 0 being the oldest outstanding ping, or -1 if not found
+     */
+    public int indexOf(int id) {
+        for (int i = 0; i < this.size; i++) {
+            if ((int) this.expecting[(this.head + i) & (this.expecting.length - 1)] == id) {
+                return i;
             }
+        }
+
+        return -1;
+    }
 
-            return Optional.ofNullable(this.expectingIds.poll());
+    /**
+     * Drops the oldest outstanding pings, used when the responses to them will never be received.
+     * <p>
+     * @param count - Amount of pings to drop
+     */
+    public void skip(int count) {
+        int skipped = Math.min(count, this.size);
+        if (skipped > 0) {
+            this.head = (this.head + skipped) & (this.expecting.length - 1);
+            this.size -= skipped;
+            this.headTimedOut = false;
         }
+    }
+
+    // Forgets all outstanding pings
+    public void reset() {
+        this.head = 0;
+        this.size = 0;
+        this.headTimedOut = false;
+        this.stalled = false;
+    }
+
+    public void addBatch(int id) {
+        if (this.batchSize == this.batchIds.length) {
+            this.batchIds = Arrays.copyOf(this.batchIds, this.batchSize << 1);
+        }
+
+        this.batchIds[this.batchSize++] = id;
+    }
+
+    public void clearBatch() {
+        this.batchSize = 0;
+    }
+
+    public int outstanding() {
+        return this.size;
+    }
+
+    private void grow() {
+        long[] grown = new long[this.expecting.length << 1];
+        int firstPart = Math.min(this.size, this.expecting.length - this.head);
+        System.arraycopy(this.expecting, this.head, grown, 0, firstPart);
+        System.arraycopy(this.expecting, 0, grown, firstPart, this.size - firstPart);
+
+        long[] grownTimes = new long[this.sendTimes.length << 1];
+        System.arraycopy(this.sendTimes, this.head, grownTimes, 0, firstPart);
+        System.arraycopy(this.sendTimes, 0, grownTimes, firstPart, this.size - firstPart);
 
-        return Optional.empty();
+        this.expecting = grown;
+        this.sendTimes = grownTimes;
+        this.head = 0;
     }
 }
@@ -2,5 +2,11 @@ package dev.thomazz.pledge.pinger.data;
 
 public enum PingOrder {
     TICK_START,
-    TICK_END
+    TICK_END;
+
+    private static final PingOrder[] VALUES = PingOrder.values();
+
+    public static PingOrder fromOrdinal(int ordinal) {
+        return PingOrder.VALUES[ordinal];
+    }
 }
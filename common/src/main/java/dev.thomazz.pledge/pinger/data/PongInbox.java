@@ -0,0 +1,107 @@
+package dev.thomazz.pledge.pinger.data;
+
+import io.netty.channel.EventLoop;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pong results handed over from the event loops to the main thread.
+ * <p>
+ * Every event loop offers to its own buffer, so event loops never wait on each other.
+ * Results are drained by a single thread, draining swaps the buffers of an event loop
+ * so it is only blocked for the duration of the swap.
+ */
+public class PongInbox {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<EventLoop, Buffer> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a pong result to the inbox.
+     * <p>
+     * @param loop   - Event loop of the player's channel
+     * @param player - Player the pong was received from
+     * @param result - Ordinal of the confirmed {@link PingOrder}, or {@link PingData#NO_MATCH}
+     * @param id     - ID of the pong
+     */
+    public void offer(EventLoop loop, UUID player, int result, int id) {
+        Buffer buffer = this.buffers.get(loop);
+        if (buffer == null) {
+            buffer = this.buffers.computeIfAbsent(loop, ignored -> new Buffer());
+        }
+
+        buffer.offer(player, result, id);
+    }
+
+    /**
+     * Passes all pong results offered so far to the handler.
+     * Results offered from the same event loop are passed in the order they were offered.
+     * <p>
+     * @param handler - Handler for every pong result
+     */
+    public void drain(Handler handler) {
+        for (Buffer buffer : this.buffers.values()) {
+            buffer.drain(handler);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        void handle(UUID player, int result, int id);
+    }
+
+    private static final class Buffer {
+        // Buffers offered to, guarded by this buffer
+        private UUID[] players = new UUID[PongInbox.INITIAL_CAPACITY];
+        private long[] entries = new long[PongInbox.INITIAL_CAPACITY];
+        private int size;
+
+        // Buffers that were drained last, only accessed by the draining thread
+        private UUID[] drainedPlayers = new UUID[PongInbox.INITIAL_CAPACITY];
+        private long[] drainedEntries = new long[PongInbox.INITIAL_CAPACITY];
+
+        private synchronized void offer(UUID player, int result, int id) {
+            if (this.size == this.players.length) {
+                this.players = Arrays.copyOf(this.players, this.size << 1);
+                this.entries = Arrays.copyOf(this.entries, this.size << 1);
+            }
+
+            this.players[this.size] = player;
+            this.entries[this.size++] = ((long) result << 32) | (id & 0xFFFFFFFFL);
+        }
+
+        private void drain(Handler handler) {
+            UUID[] players;
+            long[] entries;
+            int count;
+
+            synchronized (this) {
+                if (this.size == 0) {
+                    return;
+                }
+
+                players = this.players;
+                entries = this.entries;
+                count = this.size;
+
+                this.players = this.drainedPlayers;
+                this.entries = this.drainedEntries;
+                this.size = 0;
+            }
+
+            try {
+                for (int i = 0; i < count; i++) {
+                    long entry = entries[i];
+                    handler.handle(players[i], (int) (entry >> 32), (int) entry);
+                }
+            } finally {
+                Arrays.fill(players, 0, count, null);
+                this.drainedPlayers = players;
+                this.drainedEntries = entries;
+            }
+        }
+    }
+}
@@ -32,6 +32,39 @@ public interface FrameClientPinger<SP> extends ClientPinger<SP> {
      */
     void scheduleFinishFrame(UUID player);
 
+    /**
+     * Sets if frames sent right after each other should share a boundary ping.
+     * When enabled, the end ping of a frame also confirms the start of the next frame if nothing was sent in between,
+     * so only a single ping is sent per frame while frames are back to back.
+     * The start ID of a frame is then only assigned once the frame is sent, see {@link Frame#getStartId()}.
+     * Disabled by default.
+     * <p>
+     * @param chainFrames - If frames should be chained
+     */
+    void chainFrames(boolean chainFrames);
+
+    /**
+     * Sets if frames should be held back while the channel of a player is not writable.
+     * When enabled, packets stay queued and the current frame is extended over the next ticks,
+     * until the outbound buffer drops below its low water mark or the queue reaches {@link #maxHeldBytes(int)}.
+     * The merged frame is then sent with a single pair of pings at the end of the tick, together with the rest of the tick's packets.
+     * Disabled by default.
+     * <p>
+     * @param backpressure - If frames should be held for players that are not writable
+     */
+    void backpressure(boolean backpressure);
+
+    /**
+     * Sets the maximum amount of bytes held back for a player while frames are held because of backpressure.
+     * Once the queued packets exceed it at the end of a tick, the held frame is sent and everything is passed on to Netty,
+     * which is reported through {@link FrameClientPingerListener#onBackpressure(UUID, boolean)}.
+     * Frames are held again from the next tick if the channel is still not writable.
+     * Defaults to 1 MiB.
+     * <p>
+     * @param maxHeldBytes - Maximum amount of held bytes, 0 or lower for no limit
+     */
+    void maxHeldBytes(int maxHeldBytes);
+
     /**
      * Attaches a listener to listen to any events for {@link Frame} objects.
      * <p>
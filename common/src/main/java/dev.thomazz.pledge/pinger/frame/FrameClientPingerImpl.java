@@ -5,133 +5,225 @@ import dev.thomazz.pledge.network.queue.MessageQueueHandler;
 import dev.thomazz.pledge.network.queue.MessageQueuePrimer;
 import dev.thomazz.pledge.network.queue.QueueMode;
 import dev.thomazz.pledge.pinger.ClientPingerImpl;
-import dev.thomazz.pledge.pinger.data.Ping;
+import dev.thomazz.pledge.pinger.ClientPingerListener;
+import dev.thomazz.pledge.pinger.ListenerTable;
 import dev.thomazz.pledge.pinger.data.PingData;
 import dev.thomazz.pledge.pinger.data.PingOrder;
 import dev.thomazz.pledge.pinger.frame.data.Frame;
 import dev.thomazz.pledge.pinger.frame.data.FrameData;
 import dev.thomazz.pledge.util.ChannelUtils;
+import dev.thomazz.pledge.util.OrderedExecutor;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.AttributeKey;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class FrameClientPingerImpl<SP> extends ClientPingerImpl<SP> implements FrameClientPinger<SP> {
-    private final Map<UUID, FrameData> frameDataMap = new LinkedHashMap<>();
-    private final List<FrameClientPingerListener> frameListener = new ArrayList<>();
+    // Indexes of the callbacks in the frame listener table
+    private static final int FRAME_CREATE = 0;
+    private static final int FRAME_SEND = 1;
+    private static final int FRAME_RECEIVE_START = 2;
+    private static final int FRAME_RECEIVE_END = 3;
+    private static final int BACKPRESSURE = 4;
+
+    private static final int DEFAULT_MAX_HELD_BYTES = 1 << 20;
+
+    private final AttributeKey<FrameData> frameDataKey = AttributeKey.newInstance(this.pingDataKey.name() + "_frame");
+
+    private volatile ListenerTable<FrameClientPingerListener> frameListeners = ListenerTable.create(
+        FrameClientPingerListener.class,
+        "onFrameCreate", "onFrameSend", "onFrameReceiveStart", "onFrameReceiveEnd", "onBackpressure"
+    );
+
+    private volatile boolean chainFrames = false;
+    private volatile boolean backpressure = false;
+    private volatile int maxHeldBytes = FrameClientPingerImpl.DEFAULT_MAX_HELD_BYTES;
 
     public FrameClientPingerImpl(Pledge<SP> clientPing, int startId, int endId) {
         super(clientPing, startId, endId);
     }
 
     @Override
-    public void attach(FrameClientPingerListener listener) {
+    public synchronized void attach(FrameClientPingerListener listener) {
         super.attach(listener);
-        this.frameListener.add(listener);
+        this.frameListeners = this.frameListeners.with(listener);
     }
 
     @Override
-    public void registerPlayer(SP player) {
-        super.registerPlayer(player);
-        this.frameDataMap.put(api.asUUID(player), new FrameData());
+    public synchronized void detach(ClientPingerListener listener) {
+        super.detach(listener);
+
+        if (listener instanceof FrameClientPingerListener) {
+            this.frameListeners = this.frameListeners.without((FrameClientPingerListener) listener);
+        }
     }
 
     @Override
-    public void unregisterPlayer(UUID player) {
-        super.unregisterPlayer(player);
-        this.frameDataMap.remove(player);
+    public void chainFrames(boolean chainFrames) {
+        this.chainFrames = chainFrames;
     }
 
     @Override
-    protected void injectPlayer(UUID player) {
+    public void backpressure(boolean backpressure) {
+        this.backpressure = backpressure;
+    }
+
+    @Override
+    public void maxHeldBytes(int maxHeldBytes) {
+        this.maxHeldBytes = maxHeldBytes;
+    }
+
+    @Override
+    protected void registerChannel(UUID player, Channel channel) {
+        channel.attr(this.frameDataKey).set(new FrameData());
+        super.registerChannel(player, channel);
+    }
+
+    @Override
+    protected void unregisterChannel(Channel channel) {
+        super.unregisterChannel(channel);
+        channel.attr(this.frameDataKey).set(null);
+    }
+
+    @Override
+    protected void injectPlayer(Channel channel) {
         MessageQueueHandler queueHandler = new MessageQueueHandler();
         MessageQueuePrimer queuePrimer = new MessageQueuePrimer(api, queueHandler);
-        this.api.getChannel(player).ifPresent(channel ->
-                ChannelUtils.runInEventLoop(channel, () -> {
-                    channel.pipeline().addAfter("prepender", "pledge_queue_handler", queueHandler);
-                    if (api.supportsBundles()) {
-                        // Need to listen to bundle delimiters
-                        channel.pipeline().addAfter("encoder", "pledge_queue_primer", queuePrimer);
-                    } else {
-                        channel.pipeline().addLast("pledge_queue_primer", queuePrimer);
-                    }
-                })
-        );
+        queueHandler.setWritableTask(() -> this.resumeFrames(channel));
+        ChannelUtils.runInEventLoop(channel, () -> {
+            channel.pipeline().addAfter("prepender", "pledge_queue_handler", queueHandler);
+            if (api.supportsBundles()) {
+                // Need to listen to bundle delimiters
+                channel.pipeline().addAfter("encoder", "pledge_queue_primer", queuePrimer);
+            } else {
+                channel.pipeline().addLast("pledge_queue_primer", queuePrimer);
+            }
+        });
     }
 
     @Override
-    protected void ejectPlayer(UUID player) {
-        this.api.getChannel(player).ifPresent(channel ->
-            ChannelUtils.runInEventLoop(channel, () -> {
+    protected void ejectPlayer(Channel channel) {
+        ChannelUtils.runInEventLoop(channel, () -> {
+            // Pipeline might already be torn down when the player disconnected
+            if (channel.pipeline().get(MessageQueueHandler.class) != null) {
                 channel.pipeline().remove(MessageQueueHandler.class);
+            }
+
+            if (channel.pipeline().get(MessageQueuePrimer.class) != null) {
                 channel.pipeline().remove(MessageQueuePrimer.class);
-            })
-        );
+            }
+        });
     }
 
     @Override
-    public void tickStart() {
+    public void tickStart(Channel channel) {
         // NO-OP
     }
 
     @Override
-    public void tickEnd() {
-        for (UUID player : this.frameDataMap.keySet()) {
-            this.api.getChannel(player).ifPresent(channel ->
-                    ChannelUtils.runInEventLoop(channel, () -> {
-                        this.trySendPings(player, this.frameDataMap.get(player), true);
-                    })
-            );
+    public void tickEnd(Channel channel) {
+        PingData pingData = this.getPingData(channel);
+        FrameData frameData = this.getFrameData(channel);
+        if (pingData != null && frameData != null) {
+            this.trySendPings(channel, pingData, frameData, true);
+            this.checkTimeout(channel, pingData);
         }
     }
 
     @Override
-    protected void onReceiveStart(UUID player, int id) {
-        super.onReceiveStart(player, id);
+    protected void onSkipped(Channel channel, PingData data, int from, int to) {
+        super.onSkipped(channel, data, from, to);
 
-        FrameData data = this.frameDataMap.get(player);
-        if (data != null && this.frameListener != null) {
-            data.matchStart(id).ifPresent(
-                frame -> this.frameListener.forEach(listener -> listener.onFrameReceiveStart(player, frame))
-            );
+        // Frames sent before the received ping will never be completed
+        FrameData frameData = this.getFrameData(channel);
+        if (frameData != null) {
+            frameData.skipTo(data.peekId());
         }
     }
 
     @Override
-    protected void onReceiveEnd(UUID player, int id) {
-        super.onReceiveEnd(player, id);
+    protected void resetPlayer(Channel channel, PingData data) {
+        super.resetPlayer(channel, data);
 
-        FrameData data = this.frameDataMap.get(player);
-        if (data != null && this.frameListener != null) {
-            data.matchEnd(id).ifPresent(
-                frame -> {
-                    this.frameListener.forEach(listener -> listener.onFrameReceiveEnd(player, frame));
-                    data.popFrame();
+        FrameData frameData = this.getFrameData(channel);
+        if (frameData != null) {
+            frameData.reset();
+        }
+    }
+
+    @Override
+    protected void onReceiveStart(UUID player, Channel channel, int id) {
+        super.onReceiveStart(player, channel, id);
+
+        FrameData data = this.getFrameData(channel);
+        if (data != null) {
+            Frame frame = data.matchStart(id);
+            if (frame != null) {
+                this.dispatchFrame(player, frame, FrameClientPingerImpl.FRAME_RECEIVE_START, FrameClientPingerListener::onFrameReceiveStart);
+            }
+        }
+    }
+
+    @Override
+    protected void onReceiveEnd(UUID player, Channel channel, int id) {
+        super.onReceiveEnd(player, channel, id);
+
+        FrameData data = this.getFrameData(channel);
+        if (data != null) {
+            Frame frame = data.matchEnd(id);
+            if (frame != null) {
+                this.dispatchFrame(player, frame, FrameClientPingerImpl.FRAME_RECEIVE_END, FrameClientPingerListener::onFrameReceiveEnd);
+
+                data.popFrame();
+
+                // Next frame might start with the same ping
+                Frame next = data.matchStart(id);
+                if (next != null && next.isChained()) {
+                    this.dispatchFrame(player, next, FrameClientPingerImpl.FRAME_RECEIVE_START, FrameClientPingerListener::onFrameReceiveStart);
                 }
-            );
+            }
         }
     }
 
     @Override
     public Frame getOrCreate(UUID player) {
-        PingData pingData = this.pingDataMap.get(player);
-        FrameData frameData = this.frameDataMap.get(player);
+        Channel channel = this.api.getChannel(player).orElse(null);
+        Objects.requireNonNull(channel);
+
+        PingData pingData = this.getPingData(channel);
+        FrameData frameData = this.getFrameData(channel);
 
         Objects.requireNonNull(pingData);
         Objects.requireNonNull(frameData);
 
-        return frameData.getCurrentFrame().updateAndGet(f -> f == null ? this.createFrame(player, pingData) : f);
+        AtomicReference<Frame> currentFrame = frameData.getCurrentFrame();
+        Frame frame = currentFrame.get();
+        while (frame == null) {
+            Frame created = this.chainFrames
+                ? frameData.createChainedFrame(pingData.pullId())
+                : frameData.createFrame(pingData.pullId(), pingData.pullId());
+            if (currentFrame.compareAndSet(null, created)) {
+                for (FrameClientPingerListener listener : this.frameListeners.get(FrameClientPingerImpl.FRAME_CREATE)) {
+                    listener.onFrameCreate(player, created);
+                }
+                return created;
+            }
+
+            // Another thread created a frame first, the pulled IDs are simply skipped
+            frame = currentFrame.get();
+        }
+
+        return frame;
     }
 
     @Override
     public void finishFrame(UUID player) {
-        getFrameData(player).ifPresent(data -> this.trySendPings(player, data, false));
+        this.api.getChannel(player).ifPresent(this::finishFrame);
     }
 
     @Override
@@ -139,45 +231,144 @@ public class FrameClientPingerImpl<SP> extends ClientPingerImpl<SP> implements F
         this.api.getChannel(player).ifPresent(channel ->
                 ChannelUtils.runInEventLoop(channel, () -> {
                     final MessageQueuePrimer handler = channel.pipeline().get(MessageQueuePrimer.class);
-                    handler.setEndNextFrame(() -> this.finishFrame(player));
+                    handler.setEndNextFrame(() -> this.finishFrame(channel));
                 })
         );
     }
 
     public Optional<FrameData> getFrameData(UUID player) {
-        return Optional.ofNullable(this.frameDataMap.get(player));
+        return this.api.getChannel(player).map(this::getFrameData);
+    }
+
+    @Nullable
+    public FrameData getFrameData(Channel channel) {
+        return channel.attr(this.frameDataKey).get();
+    }
+
+    private void finishFrame(Channel channel) {
+        PingData pingData = this.getPingData(channel);
+        FrameData frameData = this.getFrameData(channel);
+        if (pingData != null && frameData != null) {
+            this.trySendPings(channel, pingData, frameData, false);
+        }
     }
 
-    private void trySendPings(UUID player, FrameData frameData, boolean flush) {
-        Optional<Frame> optionalFrame = frameData.continueFrame();
+    private void dispatchFrame(UUID player, Frame frame, int index, FrameCallback callback) {
+        FrameClientPingerListener[] listeners = this.frameListeners.get(index);
+        if (listeners.length == 0) {
+            return;
+        }
+
+        OrderedExecutor executor = this.listenerExecutor;
+        if (executor != null) {
+            executor.execute(player, () -> FrameClientPingerImpl.callFrame(listeners, player, frame, callback));
+        } else {
+            FrameClientPingerImpl.callFrame(listeners, player, frame, callback);
+        }
+    }
+
+    private static void callFrame(FrameClientPingerListener[] listeners, UUID player, Frame frame, FrameCallback callback) {
+        for (FrameClientPingerListener listener : listeners) {
+            callback.call(listener, player, frame);
+        }
+    }
+
+    private void onBackpressure(UUID player, boolean backpressured) {
+        FrameClientPingerListener[] listeners = this.frameListeners.get(FrameClientPingerImpl.BACKPRESSURE);
+        if (listeners.length > 0) {
+            this.dispatch(player, () -> {
+                for (FrameClientPingerListener listener : listeners) {
+                    listener.onBackpressure(player, backpressured);
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface FrameCallback {
+        void call(FrameClientPingerListener listener, UUID player, Frame frame);
+    }
+
+    // Only releases the frame, sending it here would split the packets of the current tick
+    private void resumeFrames(Channel channel) {
+        PingData pingData = this.getPingData(channel);
+        FrameData frameData = this.getFrameData(channel);
+        if (pingData != null && frameData != null && frameData.isHeld()) {
+            frameData.setHeld(false);
+            this.onBackpressure(pingData.getPlayer(), false);
+        }
+    }
+
+    // Held packets past the limit go to Netty's outbound buffer instead
+    private boolean exceedsHeld(@Nullable MessageQueueHandler handler) {
+        int max = this.maxHeldBytes;
+        return max > 0 && handler != null && handler.bytes() > max;
+    }
 
-        this.api.getChannel(player).filter(Channel::isOpen).ifPresent(channel -> {
-            if (!channel.eventLoop().inEventLoop()) {
-                throw new IllegalStateException("Not in event loop!");
+    private void trySendPings(Channel channel, PingData pingData, FrameData frameData, boolean flush) {
+        UUID player = pingData.getPlayer();
+
+        if (!channel.isOpen()) {
+            return;
+        }
+
+        if (!channel.eventLoop().inEventLoop()) {
+            throw new IllegalStateException("Not in event loop!");
+        }
+
+        final MessageQueueHandler handler = channel.pipeline().get(MessageQueueHandler.class);
+
+        // Keep the frame and queued packets, the frame gets extended until the channel is writable again
+        if (this.backpressure && !channel.isWritable() && !this.exceedsHeld(handler)) {
+            if (!frameData.isHeld()) {
+                frameData.setHeld(true);
+                this.onBackpressure(player, true);
             }
+            return;
+        }
+
+        if (frameData.isHeld()) {
+            frameData.setHeld(false);
+            this.onBackpressure(player, false);
+        }
 
-            try {
-                final MessageQueueHandler handler = channel.pipeline().get(MessageQueueHandler.class);
-                final ChannelHandlerContext context = channel.pipeline().context(handler);
-                if (handler != null) {
-                    if (optionalFrame.isPresent()) {
-                        Frame frame = optionalFrame.get();
-                        this.frameListener.forEach(listener -> listener.onFrameSend(player, frame));
+        // Extend the frame while the client is not responding, packets are still sent after its start ping
+        // and the end ping is sent at the first tick end after the client catches up
+        boolean stalled = this.exceedsOutstanding(pingData) && frameData.getCurrentFrame().get() != null;
+        pingData.setStalled(stalled);
+
+        boolean opened = frameData.isOpened();
+        Frame frame = stalled ? frameData.openFrame(pingData) : frameData.continueFrame(pingData);
+
+        try {
+            final ChannelHandlerContext context = channel.pipeline().context(handler);
+            if (handler != null) {
+                if (frame != null) {
+                    if (!opened) {
+                        for (FrameClientPingerListener listener : this.frameListeners.get(FrameClientPingerImpl.FRAME_SEND)) {
+                            listener.onFrameSend(player, frame);
+                        }
 
-                        frame.setBundle(frame.isBundle() && api.supportsBundles());
+                        // Frames sent over several ticks can not be bundled
+                        frame.setBundle(frame.isBundle() && api.supportsBundles() && !stalled);
 
                         if (frame.isBundle()) {
                             // Remove bundles that would interfere with our wrapping bundles.
                             handler.stripBundles();
                         }
 
-                        // Wrap by ping packets
-                        handler.setMode(QueueMode.ADD_FIRST);
-                        this.ping(player, channel, new Ping(PingOrder.TICK_START, frame.getStartId()));
-                        handler.setMode(QueueMode.ADD_LAST);
-                        this.ping(player, channel, new Ping(PingOrder.TICK_END, frame.getEndId()));
+                        // Wrap by ping packets, chained frames start with the end ping of the previous frame
+                        if (!frame.isChained()) {
+                            handler.setMode(QueueMode.ADD_FIRST);
+                            this.ping(channel, pingData, PingOrder.TICK_START, frame.getStartId());
+                        }
+                    }
+                    handler.setMode(QueueMode.ADD_LAST);
 
-                        if (frame.isBundle()) {
+                    if (!stalled) {
+                        this.ping(channel, pingData, PingOrder.TICK_END, frame.getEndId());
+
+                        if (!opened && frame.isBundle()) {
                             handler.setMode(QueueMode.ADD_FIRST);
                             api.bundleProvider().writeBundle(player);
                             handler.setMode(QueueMode.ADD_LAST);
@@ -185,18 +376,19 @@ public class FrameClientPingerImpl<SP> extends ClientPingerImpl<SP> implements F
                         }
                     }
 
-                    if (channel.isOpen()) handler.drain(context, flush);
+                    // End of the previous frame was already received, so the start of this frame is as well
+                    if (!opened && frame.isChained() && frameData.matchStart(frame.getStartId()) == frame) {
+                        this.dispatchFrame(player, frame, FrameClientPingerImpl.FRAME_RECEIVE_START, FrameClientPingerListener::onFrameReceiveStart);
+                    }
+                } else if (!handler.isEmpty()) {
+                    frameData.breakChain();
                 }
-            } catch (Exception ex) {
-                this.api.logger().severe("Unable to drain message queue from player: " + player);
-                ex.printStackTrace();
-            }
-        });
-    }
 
-    private Frame createFrame(UUID player, PingData data) {
-        Frame frame = new Frame(data.pullId(), data.pullId());
-        this.frameListener.forEach(listener -> listener.onFrameCreate(player, frame));
-        return frame;
+                if (channel.isOpen()) handler.drain(context, flush);
+            }
+        } catch (Exception ex) {
+            this.api.logger().severe("Unable to drain message queue from player: " + player);
+            ex.printStackTrace();
+        }
     }
 }
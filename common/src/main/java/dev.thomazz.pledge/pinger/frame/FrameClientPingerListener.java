@@ -27,6 +27,7 @@ public interface FrameClientPingerListener extends ClientPingerListener {
 
     /**
      * Called when a {@link Frame} start ID is received.
+     * For a chained frame this is called together with the end of the previous frame.
      * <p>
      * @param player - Player frame start ID was received for
      * @param frame  - Frame received
@@ -40,4 +41,13 @@ public interface FrameClientPingerListener extends ClientPingerListener {
      * @param frame  - Frame received
      */
     default void onFrameReceiveEnd(UUID player, Frame frame) {}
+
+    /**
+     * Called when frames for a player are held back or resumed because of backpressure.
+     * Also called with {@code false} when the held packets exceed {@link FrameClientPinger#maxHeldBytes(int)} and are sent anyway.
+     * <p>
+     * @param player        - Player the frames are held for
+     * @param backpressured - If frames are now held until the channel is writable again
+     */
+    default void onBackpressure(UUID player, boolean backpressured) {}
 }
@@ -1,17 +1,51 @@
 package dev.thomazz.pledge.pinger.frame.data;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 /**
  * Object containing ping packet IDs linked to the start and end of a tick.
+ * <p>
+ * A chained frame shares its start ID with the end ID of the frame sent right before it,
+ * the start ID of a chained frame is only assigned once the frame is sent.
  */
-@RequiredArgsConstructor
 @Getter
 @Setter
 public class Frame {
-    private final int startId;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile int startId;
+    @Setter(AccessLevel.NONE)
     private final int endId;
     private boolean bundle;
+    @Setter(AccessLevel.NONE)
+    private volatile boolean chained;
+    // Start ID is assigned when the frame is sent
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    boolean pendingStart;
+
+    public Frame(int startId, int endId) {
+        this.startId = startId;
+        this.endId = endId;
+    }
+
+    /**
+     * Gets the ID of the ping sent before the packets of the frame.
+     * <p>
+     * Frames created while {@code chainFrames} is enabled only get their start ID once they are sent.
+     * Until then this returns the end ID as a placeholder, the real start ID is available from the frame send callback on.
+     * <p>
+     * @return - Start ping ID
+     */
+    public int getStartId() {
+        return this.startId;
+    }
+
+    void assignStart(int startId, boolean chained) {
+        this.startId = startId;
+        this.chained = chained;
+        this.pendingStart = false;
+    }
 }
@@ -1,17 +1,38 @@
 package dev.thomazz.pledge.pinger.frame.data;
 
+import dev.thomazz.pledge.pinger.data.PingData;
 import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class FrameData {
-    private final Queue<Frame> expectingFrames = new ConcurrentLinkedQueue<>();
+    private static final int INITIAL_CAPACITY = 8;
+
     @Getter
     private final AtomicReference<Frame> currentFrame = new AtomicReference<>();
 
+    // Ring of sent frames waiting for their pongs, only accessed from the player's event loop
+    private Frame[] expectingFrames = new Frame[FrameData.INITIAL_CAPACITY];
+    private int[] expectingStartIds = new int[FrameData.INITIAL_CAPACITY];
+    private int[] expectingEndIds = new int[FrameData.INITIAL_CAPACITY];
+    private int head;
+    private int size;
+
+    // End ID of the last sent frame, only accessed from the player's event loop
+    private int chainEndId;
+    private boolean chainIntact;
+
+    // If the current frame is held back until the channel is writable, only accessed from the player's event loop
+    @Getter
+    @Setter
+    private boolean held;
+
+    // If the start ping of the current frame was already sent, only accessed from the player's event loop
+    @Getter
+    private boolean opened;
+
     @Deprecated
     public boolean hasFrame() {
         return this.currentFrame.get() != null;
@@ -27,25 +48,164 @@ public class FrameData {
         return this.currentFrame.get();
     }
 
-    public Optional<Frame> continueFrame() {
+    public Frame createFrame(int startId, int endId) {
+        return new Frame(startId, endId);
+    }
+
+    /**
+     * Creates a frame that can share its start ID with the end ID of the previous frame.
+     * <p>
+     * @param endId - End ID of the frame
+     * @return      - Frame with a start ID assigned by {@link #continueFrame(PingData)}
+     */
+    public Frame createChainedFrame(int endId) {
+        Frame frame = this.createFrame(endId, endId);
+        frame.pendingStart = true;
+        return frame;
+    }
+
+    @Nullable
+    public Frame continueFrame() {
+        return this.continueFrame(null);
+    }
+
+    /**
+     * Takes the current frame to be sent, assigning the start ID of frames created by {@link #createChainedFrame(int)}.
+     * <p>
+     * @param data - Ping data to pull a start ID from when a chained frame can not share the previous end ID
+     * @return     - Frame to send, null if no frame was created
+     */
+    @Nullable
+    public Frame continueFrame(@Nullable PingData data) {
         Frame frame = this.currentFrame.getAndSet(null);
 
         if (frame != null) {
-            this.expectingFrames.add(frame);
+            if (this.opened) {
+                this.opened = false;
+            } else {
+                this.assignStart(frame, data);
+                this.offer(frame);
+            }
+
+            this.chainEndId = frame.getEndId();
+            this.chainIntact = true;
+        }
+
+        return frame;
+    }
+
+    /**
+     * Gets the current frame to send its start ping ahead of the end ping, keeping it as the current frame.
+     * The frame is expected from then on, and is taken once its end is sent by {@link #continueFrame(PingData)}.
+     * <p>
+     * @param data - Ping data to pull a start ID from when a chained frame can not share the previous end ID
+     * @return     - Current frame, null if no frame was created
+     */
+    @Nullable
+    public Frame openFrame(PingData data) {
+        Frame frame = this.currentFrame.get();
+
+        if (frame != null && !this.opened) {
+            this.assignStart(frame, data);
+            this.offer(frame);
+            this.opened = true;
         }
 
-        return Optional.ofNullable(frame);
+        return frame;
+    }
+
+    // Packets were sent outside of a frame, so the next frame needs its own start ping
+    public void breakChain() {
+        this.chainIntact = false;
     }
 
-    public Optional<Frame> matchStart(int id) {
-        return Optional.ofNullable(this.expectingFrames.peek()).filter(frame -> frame.getStartId() == id);
+    @Nullable
+    public Frame matchStart(int id) {
+        return this.size > 0 && this.expectingStartIds[this.head] == id ? this.expectingFrames[this.head] : null;
     }
 
-    public Optional<Frame> matchEnd(int id) {
-        return Optional.ofNullable(this.expectingFrames.peek()).filter(frame -> frame.getEndId() == id);
+    @Nullable
+    public Frame matchEnd(int id) {
+        return this.size > 0 && this.expectingEndIds[this.head] == id ? this.expectingFrames[this.head] : null;
     }
 
     public void popFrame() {
-        this.expectingFrames.poll();
+        if (this.size == 0) {
+            return;
+        }
+
+        this.expectingFrames[this.head] = null;
+        this.head = (this.head + 1) & (this.expectingFrames.length - 1);
+        this.size--;
+    }
+
+    // Drops frames sent before the frame with the ID, after the pings in between were skipped
+    public void skipTo(int id) {
+        while (this.size > 0 && this.expectingStartIds[this.head] != id && this.expectingEndIds[this.head] != id) {
+            this.popFrame();
+        }
+    }
+
+    // Forgets all sent frames, the next frame needs its own start ping
+    public void reset() {
+        while (this.size > 0) {
+            this.popFrame();
+        }
+
+        this.head = 0;
+        this.chainIntact = false;
+        this.opened = false;
+    }
+
+    public int expecting() {
+        return this.size;
+    }
+
+    private void assignStart(Frame frame, @Nullable PingData data) {
+        if (!frame.pendingStart) {
+            return;
+        }
+
+        if (this.chainIntact) {
+            frame.assignStart(this.chainEndId, true);
+        } else if (data != null) {
+            frame.assignStart(data.pullId(), false);
+        } else {
+            throw new IllegalStateException("No ping data to assign start ID!");
+        }
+    }
+
+    private void offer(Frame frame) {
+        if (this.size == this.expectingFrames.length) {
+            this.grow();
+        }
+
+        int tail = (this.head + this.size) & (this.expectingFrames.length - 1);
+        this.expectingFrames[tail] = frame;
+        this.expectingStartIds[tail] = frame.getStartId();
+        this.expectingEndIds[tail] = frame.getEndId();
+        this.size++;
+    }
+
+    private void grow() {
+        int capacity = this.expectingFrames.length;
+        int firstPart = Math.min(this.size, capacity - this.head);
+
+        Frame[] frames = new Frame[capacity << 1];
+        System.arraycopy(this.expectingFrames, this.head, frames, 0, firstPart);
+        System.arraycopy(this.expectingFrames, 0, frames, firstPart, this.size - firstPart);
+
+        int[] startIds = new int[capacity << 1];
+        System.arraycopy(this.expectingStartIds, this.head, startIds, 0, firstPart);
+        System.arraycopy(this.expectingStartIds, 0, startIds, firstPart, this.size - firstPart);
+
+        int[] endIds = new int[capacity << 1];
+        System.arraycopy(this.expectingEndIds, this.head, endIds, 0, firstPart);
+        System.arraycopy(this.expectingEndIds, 0, endIds, firstPart, this.size - firstPart);
+
+        this.expectingFrames = frames;
+        this.expectingStartIds = startIds;
+        this.expectingEndIds = endIds;
+        this.head = 0;
     }
 }
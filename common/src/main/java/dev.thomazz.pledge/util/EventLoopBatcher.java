@@ -0,0 +1,76 @@
+package dev.thomazz.pledge.util;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Groups channels by their event loop, so work for all channels can be submitted as one task per event loop.
+ * <p>
+ * Channels should be added, removed and executed on from the same thread.
+ * Event loops only receive immutable snapshots of their channels.
+ */
+public final class EventLoopBatcher {
+    private static final Channel[] EMPTY = new Channel[0];
+
+    private final Map<EventLoop, Channel[]> loops = new LinkedHashMap<>();
+
+    public void add(Channel channel) {
+        EventLoop loop = channel.eventLoop();
+        Channel[] channels = this.loops.getOrDefault(loop, EventLoopBatcher.EMPTY);
+
+        for (Channel registered : channels) {
+            if (registered == channel) {
+                return;
+            }
+        }
+
+        Channel[] updated = Arrays.copyOf(channels, channels.length + 1);
+        updated[channels.length] = channel;
+        this.loops.put(loop, updated);
+    }
+
+    public void remove(Channel channel) {
+        EventLoop loop = channel.eventLoop();
+        Channel[] channels = this.loops.get(loop);
+        if (channels == null) {
+            return;
+        }
+
+        for (int i = 0; i < channels.length; i++) {
+            if (channels[i] == channel) {
+                if (channels.length == 1) {
+                    this.loops.remove(loop);
+                } else {
+                    Channel[] updated = new Channel[channels.length - 1];
+                    System.arraycopy(channels, 0, updated, 0, i);
+                    System.arraycopy(channels, i + 1, updated, i, channels.length - i - 1);
+                    this.loops.put(loop, updated);
+                }
+                return;
+            }
+        }
+    }
+
+    public void execute(Consumer<Channel> action) {
+        for (Map.Entry<EventLoop, Channel[]> entry : this.loops.entrySet()) {
+            EventLoop loop = entry.getKey();
+            Channel[] channels = entry.getValue();
+            Runnable task = () -> {
+                for (Channel channel : channels) {
+                    action.accept(channel);
+                }
+            };
+
+            if (loop.inEventLoop()) {
+                task.run();
+            } else {
+                loop.execute(task);
+            }
+        }
+    }
+}
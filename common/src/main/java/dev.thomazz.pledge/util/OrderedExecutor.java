@@ -0,0 +1,143 @@
+package dev.thomazz.pledge.util;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Runs tasks away from the event loops, tasks for the same player run one by one in the order they were submitted.
+ * <p>
+ * Every player with pending tasks has its own serial queue, so a slow listener only holds up its own player.
+ * Queues run on virtual threads if the runtime supports them and on a small pool of daemon threads otherwise.
+ */
+public final class OrderedExecutor {
+    // Tasks run by a queue before giving other queues a chance to run
+    private static final int BATCH_SIZE = 256;
+    // Tasks without a player share a queue
+    private static final UUID NO_PLAYER = new UUID(0L, 0L);
+
+    private final Logger logger;
+    private final ExecutorService backing;
+    // Queues are removed once empty, adding and removing happens atomically for each player
+    private final Map<UUID, SerialQueue> queues = new ConcurrentHashMap<>();
+
+    public OrderedExecutor(Logger logger) {
+        this.logger = logger;
+        this.backing = OrderedExecutor.createBacking();
+    }
+
+    private static ExecutorService createBacking() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ignored) {
+            // Virtual threads are not available
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads,
+            30L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "pledge-listener-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public void execute(UUID player, Runnable task) {
+        UUID key = player == null ? OrderedExecutor.NO_PLAYER : player;
+        SerialQueue queue = this.queues.compute(key, (ignored, existing) -> {
+            SerialQueue target = existing == null ? new SerialQueue(key) : existing;
+            target.tasks.add(task);
+            return target;
+        });
+
+        queue.schedule();
+    }
+
+    /**
+     * Stops accepting new tasks, tasks that were already handed to a thread still run.
+     * Tasks that can no longer run are dropped and logged.
+     */
+    public void shutdown() {
+        this.backing.shutdown();
+    }
+
+    private final class SerialQueue implements Runnable {
+        private final UUID player;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private SerialQueue(UUID player) {
+            this.player = player;
+        }
+
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                try {
+                    OrderedExecutor.this.backing.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    // Executor was shut down, remaining tasks can not run anymore
+                    OrderedExecutor.this.drop(this);
+                    this.scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Runnable task;
+                for (int i = 0; i < OrderedExecutor.BATCH_SIZE && (task = this.tasks.poll()) != null; i++) {
+                    try {
+                        task.run();
+                    } catch (Throwable throwable) {
+                        OrderedExecutor.this.logger.severe("Failed to run listener task!");
+                        throwable.printStackTrace();
+                    }
+                }
+            } finally {
+                this.scheduled.set(false);
+            }
+
+            // Tasks might have been added after polling, but before the queue was marked as not scheduled
+            if (!this.tasks.isEmpty()) {
+                this.schedule();
+            } else {
+                OrderedExecutor.this.queues.computeIfPresent(this.player, (ignored, queue) ->
+                    queue == this && this.tasks.isEmpty() && !this.scheduled.get() ? null : queue
+                );
+            }
+        }
+    }
+
+    private void drop(SerialQueue queue) {
+        int dropped = 0;
+        while (queue.tasks.poll() != null) {
+            dropped++;
+        }
+
+        this.queues.remove(queue.player, queue);
+
+        if (dropped > 0) {
+            this.logger.warning(String.format("Dropped %d listener callbacks for player %s, listener executor was shut down", dropped, queue.player));
+        }
+    }
+}
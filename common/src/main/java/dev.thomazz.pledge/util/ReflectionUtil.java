@@ -46,4 +46,13 @@ public class ReflectionUtil {
 
         throw new NoSuchFieldException("Could not find non-null field in class " + clazz.getName() + " with type " + type.getName());
     }
+
+    // Rethrows what a method handle threw, throwables that are neither exceptions nor errors are wrapped
+    public Exception rethrow(Throwable throwable) {
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+
+        return throwable instanceof Exception ? (Exception) throwable : new ReflectiveOperationException(throwable);
+    }
 }
@@ -4,7 +4,14 @@ import dev.thomazz.pledge.Pledge;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
 import java.util.List;
@@ -14,6 +21,8 @@ import java.util.List;
 public final class TickEndTask {
     private static List<Object> RUNNABLES;
     private static Class<?> RUNNABLE_CLASS;
+    // Creates real implementations of the tickable type, null if only a proxy can be used
+    private static MethodHandle TICKABLE_FACTORY;
 
     public static void initialise(Pledge<?> pledge) {
         try {
@@ -24,6 +33,48 @@ public final class TickEndTask {
         } catch (Exception ex) {
             throw new RuntimeException("Could not set up tick end runnable!", ex);
         }
+
+        TickEndTask.TICKABLE_FACTORY = null;
+        if (!Runnable.class.isAssignableFrom(TickEndTask.RUNNABLE_CLASS)) {
+            try {
+                TickEndTask.TICKABLE_FACTORY = TickEndTask.createFactory(TickEndTask.RUNNABLE_CLASS);
+            } catch (Throwable throwable) {
+                pledge.logger().warning("Falling back to proxy for tickables: " + throwable);
+            }
+        }
+    }
+
+    // Spins a class implementing the tickable interface that directly calls a runnable, like a lambda would
+    private static MethodHandle createFactory(Class<?> tickableClass) throws Throwable {
+        Method tickMethod = null;
+        for (Method method : tickableClass.getMethods()) {
+            if (!Modifier.isAbstract(method.getModifiers())) {
+                continue;
+            }
+
+            if (tickMethod != null) {
+                throw new IllegalStateException("More than one abstract method in " + tickableClass.getName());
+            }
+
+            tickMethod = method;
+        }
+
+        if (tickMethod == null || tickMethod.getParameterCount() != 0 || tickMethod.getReturnType() != void.class) {
+            throw new IllegalStateException("No tick method found in " + tickableClass.getName());
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType tickType = MethodType.methodType(void.class);
+        CallSite site = LambdaMetafactory.metafactory(
+            lookup,
+            tickMethod.getName(),
+            MethodType.methodType(tickableClass, Runnable.class),
+            tickType,
+            lookup.findVirtual(Runnable.class, "run", tickType),
+            tickType
+        );
+
+        return site.getTarget();
     }
 
     private final Runnable runnable;
@@ -34,26 +85,7 @@ public final class TickEndTask {
             throw new IllegalStateException("Already registered!");
         }
 
-        // Hack to add runnable to tickables
-        if (!Runnable.class.isAssignableFrom(TickEndTask.RUNNABLE_CLASS)) {
-            Object handle = new Object();
-            this.registeredObject = Proxy.newProxyInstance(
-                TickEndTask.RUNNABLE_CLASS.getClassLoader(),
-                new Class[]{TickEndTask.RUNNABLE_CLASS},
-                (proxy, method, args) -> {
-                    Class<?> declaring = method.getDeclaringClass();
-                    if (declaring.equals(Object.class)) {
-                        return method.invoke(handle, args);
-                    } else {
-                        this.runnable.run();
-                        return null;
-                    }
-                }
-            );
-        } else {
-            this.registeredObject = this.runnable;
-        }
-
+        this.registeredObject = TickEndTask.createTickable(this.runnable);
         TickEndTask.RUNNABLES.add(this.registeredObject);
         return this;
     }
@@ -70,4 +102,34 @@ public final class TickEndTask {
     public static TickEndTask create(Runnable runnable) {
         return new TickEndTask(runnable).start();
     }
+
+    private static Object createTickable(Runnable runnable) {
+        if (Runnable.class.isAssignableFrom(TickEndTask.RUNNABLE_CLASS)) {
+            return runnable;
+        }
+
+        if (TickEndTask.TICKABLE_FACTORY != null) {
+            try {
+                return TickEndTask.TICKABLE_FACTORY.invoke(runnable);
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("Could not create tickable!", throwable);
+            }
+        }
+
+        // Fallback, hack to add runnable to tickables
+        Object handle = new Object();
+        return Proxy.newProxyInstance(
+            TickEndTask.RUNNABLE_CLASS.getClassLoader(),
+            new Class[]{TickEndTask.RUNNABLE_CLASS},
+            (proxy, method, args) -> {
+                Class<?> declaring = method.getDeclaringClass();
+                if (declaring.equals(Object.class)) {
+                    return method.invoke(handle, args);
+                } else {
+                    runnable.run();
+                    return null;
+                }
+            }
+        );
+    }
 }
@@ -0,0 +1,492 @@
+package dev.thomazz.pledge;
+
+import dev.thomazz.pledge.network.queue.MessageQueueHandler;
+import dev.thomazz.pledge.network.queue.PacketFiltering;
+import dev.thomazz.pledge.packet.PingPacketProvider;
+import dev.thomazz.pledge.pinger.ClientPingerImpl;
+import dev.thomazz.pledge.pinger.ClientPingerListener;
+import dev.thomazz.pledge.pinger.ClientPingerRegistry;
+import dev.thomazz.pledge.pinger.TimeoutAction;
+import dev.thomazz.pledge.pinger.data.PingData;
+import dev.thomazz.pledge.pinger.data.PingOrder;
+import dev.thomazz.pledge.pinger.frame.FrameClientPingerImpl;
+import dev.thomazz.pledge.pinger.frame.FrameClientPingerListener;
+import dev.thomazz.pledge.pinger.frame.data.FrameData;
+import dev.thomazz.pledge.util.MinecraftReflectionProvider;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Client Pinger Feature Tests")
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ClientPingerFeatureTests {
+    @Mock private Pledge<UUID> api;
+    @Mock private PingPacketProvider provider;
+
+    private final UUID uuid = UUID.randomUUID();
+    private EmbeddedChannel channel;
+    private ClientPingerRegistry<UUID> registry;
+
+    @BeforeEach
+    public void setupMocks() {
+        when(this.api.getPacketProvider()).thenReturn(this.provider);
+        when(this.api.asUUID(this.uuid)).thenReturn(this.uuid);
+        when(this.api.getChannel(this.uuid)).thenReturn(Optional.of(this.channel = new EmbeddedChannel()));
+
+        when(this.provider.getUpperBound()).thenReturn(0);
+        when(this.provider.getLowerBound()).thenReturn(-999);
+    }
+
+    // Drives the pinger through its own registry, like the platform does
+    private void register(ClientPingerImpl<UUID> pinger) {
+        this.registry = new ClientPingerRegistry<>(this.api);
+        this.registry.addPinger(pinger);
+        this.registry.registerPlayer(this.uuid, this.channel);
+    }
+
+    // Packet filtering without any known game packets, so every written message is queued
+    private void filterPackets() throws Exception {
+        MinecraftReflectionProvider reflectionProvider = mock(MinecraftReflectionProvider.class);
+        when(reflectionProvider.gamePacket(anyString())).thenThrow(new ClassNotFoundException());
+        when(this.api.getReflectionProvider()).thenReturn(reflectionProvider);
+        when(this.api.logger()).thenReturn(Logger.getLogger("Pledge"));
+        when(this.api.getPacketFilter()).thenReturn(new PacketFiltering(this.api));
+    }
+
+    @Test
+    @Order(1)
+    public void testIdleSuppression() throws Exception {
+        this.filterPackets();
+
+        ClientPingerImpl<UUID> pinger = new ClientPingerImpl<>(this.api, 0, -999);
+        pinger.idleSuppression(true);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+
+        // No pings for idle ticks
+        for (int i = 0; i < 10; i++) {
+            this.registry.tickStart();
+            this.registry.tickEnd();
+            this.channel.runPendingTasks();
+        }
+
+        assertEquals(0, pingData.getId());
+
+        // Start ping is sent once something is written during the tick
+        this.registry.tickStart();
+        this.channel.writeAndFlush("test");
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        assertEquals(-2, pingData.getId());
+        assertEquals(PingOrder.TICK_START.ordinal(), pingData.confirm(0));
+        assertEquals(PingOrder.TICK_END.ordinal(), pingData.confirm(-1));
+    }
+
+    @Test
+    @Order(2)
+    public void testChainedFrames() {
+        this.channel.pipeline().addFirst("prepender", new ChannelOutboundHandlerAdapter());
+
+        FrameClientPingerImpl<UUID> pinger = new FrameClientPingerImpl<>(this.api, 0, -999);
+        pinger.chainFrames(true);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+
+        FrameClientPingerListener listener = mock(FrameClientPingerListener.class);
+        pinger.attach(listener);
+
+        for (int i = 0; i < 3; i++) {
+            pinger.getOrCreate(this.uuid);
+            this.registry.tickEnd();
+            this.channel.runPendingTasks();
+        }
+
+        // First frame needs a start ping, others share the end ping of the previous frame
+        assertEquals(-4, pingData.getId());
+
+        assertTrue(pinger.receivePong(this.channel, pingData, -1));
+        assertTrue(pinger.receivePong(this.channel, pingData, 0));
+        assertTrue(pinger.receivePong(this.channel, pingData, -2));
+        assertTrue(pinger.receivePong(this.channel, pingData, -3));
+
+        // Chained to a frame that was already received
+        pinger.getOrCreate(this.uuid);
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        assertEquals(-5, pingData.getId());
+
+        verify(listener, times(1)).onPingSendStart(eq(this.uuid), anyInt());
+        verify(listener, times(4)).onPingSendEnd(eq(this.uuid), anyInt());
+
+        verify(listener, times(4)).onFrameSend(eq(this.uuid), any());
+        verify(listener, times(4)).onFrameReceiveStart(eq(this.uuid), any());
+        verify(listener, times(3)).onFrameReceiveEnd(eq(this.uuid), any());
+    }
+
+    @Test
+    @Order(3)
+    public void testBackpressure() {
+        this.channel.pipeline().addFirst("prepender", new ChannelOutboundHandlerAdapter());
+
+        FrameClientPingerImpl<UUID> pinger = new FrameClientPingerImpl<>(this.api, 0, -999);
+        pinger.backpressure(true);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+
+        FrameClientPingerListener listener = mock(FrameClientPingerListener.class);
+        pinger.attach(listener);
+
+        // Frames are merged while the channel is not writable
+        this.channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        for (int i = 0; i < 3; i++) {
+            pinger.getOrCreate(this.uuid);
+            this.registry.tickEnd();
+            this.channel.runPendingTasks();
+        }
+
+        assertEquals(-2, pingData.getId());
+        assertEquals(0, pingData.outstanding());
+        verify(listener, times(1)).onFrameCreate(eq(this.uuid), any());
+        verify(listener, times(1)).onBackpressure(this.uuid, true);
+
+        // Merged frame is sent at the end of the tick once writable again
+        this.channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        this.channel.runPendingTasks();
+
+        assertEquals(0, pingData.outstanding());
+        verify(listener, times(0)).onFrameSend(eq(this.uuid), any());
+        verify(listener, times(1)).onBackpressure(this.uuid, false);
+
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        assertEquals(2, pingData.outstanding());
+        verify(listener, times(1)).onFrameSend(eq(this.uuid), any());
+    }
+
+    @Test
+    @Order(4)
+    public void testOutstandingCap() {
+        this.channel.pipeline().addFirst("prepender", new ChannelOutboundHandlerAdapter());
+
+        FrameClientPingerImpl<UUID> pinger = new FrameClientPingerImpl<>(this.api, 0, -999);
+        pinger.maxOutstanding(2);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+
+        FrameClientPingerListener listener = mock(FrameClientPingerListener.class);
+        pinger.attach(listener);
+
+        // Second frame is extended while the first one is unanswered, only its start ping is sent
+        for (int i = 0; i < 3; i++) {
+            pinger.getOrCreate(this.uuid);
+            this.registry.tickEnd();
+            this.channel.runPendingTasks();
+        }
+
+        assertEquals(-4, pingData.getId());
+        assertEquals(3, pingData.outstanding());
+        verify(listener, times(2)).onFrameCreate(eq(this.uuid), any());
+        verify(listener, times(2)).onFrameSend(eq(this.uuid), any());
+        verify(listener, times(2)).onPingSendStart(eq(this.uuid), anyInt());
+        verify(listener, times(1)).onPingSendEnd(eq(this.uuid), anyInt());
+
+        // End ping is sent at the end of the tick once the client catches up
+        assertTrue(pinger.receivePong(this.channel, pingData, 0));
+        assertTrue(pinger.receivePong(this.channel, pingData, -1));
+
+        assertEquals(1, pingData.outstanding());
+        verify(listener, times(1)).onPingSendEnd(eq(this.uuid), anyInt());
+
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        assertEquals(2, pingData.outstanding());
+        verify(listener, times(2)).onFrameSend(eq(this.uuid), any());
+        verify(listener, times(1)).onPingSendEnd(this.uuid, -3);
+    }
+
+    @Test
+    @Order(5)
+    public void testTimeout() {
+        ClientPingerImpl<UUID> pinger = new ClientPingerImpl<>(this.api, 0, -999);
+        pinger.timeout(1L, TimeUnit.NANOSECONDS, TimeoutAction.RESET);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+
+        ClientPingerListener listener = mock(ClientPingerListener.class);
+        pinger.attach(listener);
+
+        this.registry.tickStart();
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        // Oldest ping is reported and all outstanding pings are forgotten
+        verify(listener, times(1)).onTimeout(eq(this.uuid), eq(0), anyLong());
+        assertEquals(0, pingData.outstanding());
+        assertFalse(pinger.receivePong(this.channel, pingData, 0));
+    }
+
+    @Test
+    @Order(6)
+    public void testPongBatch() {
+        ClientPingerImpl<UUID> pinger = new ClientPingerImpl<>(this.api, 0, -999);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+
+        ClientPingerListener listener = mock(ClientPingerListener.class);
+        pinger.attach(listener);
+
+        this.registry.tickStart();
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        assertTrue(pinger.receivePong(this.channel, pingData, 0));
+        assertTrue(pinger.receivePong(this.channel, pingData, -1));
+
+        // Both pongs are handled in one batch, flushing again does nothing
+        pinger.flushPongs(this.channel);
+        pinger.flushPongs(this.channel);
+
+        verify(listener, times(1)).onPongBatch(eq(this.uuid), any(int[].class), eq(2));
+    }
+
+    @Test
+    @Order(7)
+    public void testSynchronizedListener() {
+        ClientPingerImpl<UUID> pinger = new ClientPingerImpl<>(this.api, 0, -999);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+
+        ClientPingerListener listener = mock(ClientPingerListener.class);
+        pinger.attachSynchronized(listener);
+
+        this.registry.tickStart();
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        assertTrue(pinger.receivePong(this.channel, pingData, 0));
+        assertTrue(pinger.receivePong(this.channel, pingData, -1));
+        assertFalse(pinger.receivePong(this.channel, pingData, -5));
+
+        // Nothing is called until the next tick starts
+        verify(listener, times(0)).onPongReceiveStart(eq(this.uuid), anyInt());
+
+        this.registry.tickStart();
+
+        verify(listener, times(1)).onPongReceiveStart(this.uuid, 0);
+        verify(listener, times(1)).onPongReceiveEnd(this.uuid, -1);
+        verify(listener, times(1)).onError(this.uuid, -5);
+    }
+
+    @Test
+    @Order(8)
+    public void testAsyncListeners() {
+        ClientPingerImpl<UUID> pinger = new ClientPingerImpl<>(this.api, 0, -999);
+        pinger.asyncListeners(true);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+
+        ClientPingerListener listener = mock(ClientPingerListener.class);
+        pinger.attach(listener);
+
+        this.registry.tickStart();
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        assertTrue(pinger.receivePong(this.channel, pingData, 0));
+        assertTrue(pinger.receivePong(this.channel, pingData, -1));
+
+        verify(listener, timeout(1000).times(1)).onPingSendEnd(this.uuid, -1);
+        verify(listener, timeout(1000).times(1)).onPongReceiveStart(this.uuid, 0);
+        verify(listener, timeout(1000).times(1)).onPongReceiveEnd(this.uuid, -1);
+
+        pinger.asyncListeners(false);
+    }
+
+    @Test
+    @Order(9)
+    public void testResync() {
+        this.channel.pipeline().addFirst("prepender", new ChannelOutboundHandlerAdapter());
+
+        FrameClientPingerImpl<UUID> pinger = new FrameClientPingerImpl<>(this.api, 0, -999);
+        pinger.resync(true);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+        FrameData frameData = pinger.getFrameData(this.uuid).orElseThrow(IllegalStateException::new);
+
+        FrameClientPingerListener listener = mock(FrameClientPingerListener.class);
+        pinger.attach(listener);
+
+        for (int i = 0; i < 2; i++) {
+            pinger.getOrCreate(this.uuid);
+            this.registry.tickEnd();
+            this.channel.runPendingTasks();
+        }
+
+        // Pongs of the first frame are lost
+        assertTrue(pinger.receivePong(this.channel, pingData, -2));
+        assertTrue(pinger.receivePong(this.channel, pingData, -3));
+
+        verify(listener, times(1)).onSkipped(this.uuid, 0, -1);
+        verify(listener, times(0)).onError(eq(this.uuid), anyInt());
+        verify(listener, times(1)).onFrameReceiveStart(eq(this.uuid), any());
+        verify(listener, times(1)).onFrameReceiveEnd(eq(this.uuid), any());
+
+        assertEquals(0, pingData.outstanding());
+        assertEquals(0, frameData.expecting());
+    }
+
+    @Test
+    @Order(10)
+    public void testWriteAfterResume() throws Exception {
+        this.filterPackets();
+
+        this.channel.pipeline().addFirst("prepender", new ChannelOutboundHandlerAdapter());
+
+        FrameClientPingerImpl<UUID> pinger = new FrameClientPingerImpl<>(this.api, 0, -999);
+        pinger.backpressure(true);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+        MessageQueueHandler handler = this.channel.pipeline().get(MessageQueueHandler.class);
+
+        pinger.getOrCreate(this.uuid);
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        assertEquals(2, pingData.outstanding());
+
+        // Held frame is released mid-tick
+        this.channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        pinger.getOrCreate(this.uuid);
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        this.channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        this.channel.runPendingTasks();
+
+        // Packets written after the resume still end up inside the frame
+        this.channel.writeAndFlush("test");
+
+        assertEquals(2, pingData.outstanding());
+        assertEquals(1, handler.size());
+        assertNull(this.channel.readOutbound());
+
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        assertEquals(4, pingData.outstanding());
+        assertEquals(0, handler.size());
+        assertEquals("test", this.channel.readOutbound());
+    }
+
+    @Test
+    @Order(11)
+    public void testHeldLimit() throws Exception {
+        this.filterPackets();
+        this.channel.pipeline().addFirst("prepender", new ChannelOutboundHandlerAdapter());
+
+        FrameClientPingerImpl<UUID> pinger = new FrameClientPingerImpl<>(this.api, 0, -999);
+        pinger.backpressure(true);
+        pinger.maxHeldBytes(1024);
+        this.register(pinger);
+
+        MessageQueueHandler handler = this.channel.pipeline().get(MessageQueueHandler.class);
+
+        FrameClientPingerListener listener = mock(FrameClientPingerListener.class);
+        pinger.attach(listener);
+
+        pinger.getOrCreate(this.uuid);
+        this.registry.tickEnd();
+        this.channel.runPendingTasks();
+
+        // Channel never becomes writable again
+        this.channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        for (int i = 0; i < 20; i++) {
+            pinger.getOrCreate(this.uuid);
+            this.channel.write(Unpooled.buffer().writeZero(256));
+            this.registry.tickEnd();
+            this.channel.runPendingTasks();
+
+            // Held packets are passed on once they exceed the limit
+            assertTrue(handler.bytes() <= 1024);
+        }
+
+        assertEquals(0, handler.size());
+        verify(listener, times(4)).onBackpressure(this.uuid, true);
+        verify(listener, times(4)).onBackpressure(this.uuid, false);
+        verify(listener, times(5)).onFrameSend(eq(this.uuid), any());
+
+        this.channel.finishAndReleaseAll();
+    }
+
+    @Test
+    @Order(12)
+    public void testOutstandingQueue() throws Exception {
+        this.filterPackets();
+        this.channel.pipeline().addFirst("prepender", new ChannelOutboundHandlerAdapter());
+
+        FrameClientPingerImpl<UUID> pinger = new FrameClientPingerImpl<>(this.api, 0, -999);
+        pinger.maxOutstanding(2);
+        this.register(pinger);
+
+        PingData pingData = pinger.getPingData(this.uuid).orElseThrow(IllegalStateException::new);
+        MessageQueueHandler handler = this.channel.pipeline().get(MessageQueueHandler.class);
+
+        // Client never answers, packets keep being sent inside the extended frame
+        for (int i = 0; i < 20; i++) {
+            pinger.getOrCreate(this.uuid);
+            this.channel.write("test");
+            this.registry.tickEnd();
+            this.channel.runPendingTasks();
+
+            assertEquals(0, handler.size());
+            assertEquals("test", this.channel.readOutbound());
+        }
+
+        assertNull(this.channel.readOutbound());
+        assertEquals(3, pingData.outstanding());
+    }
+}
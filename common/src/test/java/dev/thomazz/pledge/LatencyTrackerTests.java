@@ -0,0 +1,59 @@
+package dev.thomazz.pledge;
+
+import dev.thomazz.pledge.pinger.data.LatencyTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Latency Tracker Tests")
+public class LatencyTrackerTests {
+
+    @Test
+    public void testSmoothing() {
+        LatencyTracker tracker = new LatencyTracker();
+        assertEquals(-1L, tracker.getSmoothedRtt());
+        assertEquals(-1L, tracker.getPercentile(0.5D));
+
+        long rtt = TimeUnit.MILLISECONDS.toNanos(50L);
+        tracker.record(rtt);
+        assertEquals(rtt, tracker.getSmoothedRtt());
+        assertEquals(rtt / 2, tracker.getJitter());
+
+        // Stable round trip times converge and the jitter dies down
+        for (int i = 0; i < 200; i++) {
+            tracker.record(rtt);
+        }
+
+        assertEquals(rtt, tracker.getSmoothedRtt());
+        assertTrue(tracker.getJitter() < TimeUnit.MILLISECONDS.toNanos(1L));
+        assertEquals(201L, tracker.getSamples());
+
+        // A single spike only moves the average by an eighth
+        tracker.record(rtt * 9);
+        assertEquals(rtt * 2, tracker.getSmoothedRtt());
+        assertEquals(rtt * 9, tracker.getLastRtt());
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyTracker tracker = new LatencyTracker();
+
+        for (int i = 0; i < 90; i++) {
+            tracker.record(TimeUnit.MILLISECONDS.toNanos(20L));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            tracker.record(TimeUnit.MILLISECONDS.toNanos(300L));
+        }
+
+        long median = tracker.getPercentile(0.5D);
+        long tail = tracker.getPercentile(0.99D);
+
+        assertTrue(median > TimeUnit.MILLISECONDS.toNanos(20L) && median <= TimeUnit.MILLISECONDS.toNanos(40L));
+        assertTrue(tail > TimeUnit.MILLISECONDS.toNanos(300L) && tail <= TimeUnit.MILLISECONDS.toNanos(600L));
+    }
+}
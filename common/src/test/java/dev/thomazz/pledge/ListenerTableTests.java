@@ -0,0 +1,70 @@
+package dev.thomazz.pledge;
+
+import dev.thomazz.pledge.pinger.ClientPingerListener;
+import dev.thomazz.pledge.pinger.ListenerTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Listener Table Tests")
+public class ListenerTableTests {
+    private static final int VALIDATION = 0;
+    private static final int ERROR = 1;
+    private static final int TIMEOUT = 2;
+
+    private ListenerTable<ClientPingerListener> create() {
+        return ListenerTable.create(ClientPingerListener.class, "onValidation", "onError", "onTimeout");
+    }
+
+    @Test
+    public void testOverriddenCallbacks() {
+        ClientPingerListener validation = new ClientPingerListener() {
+            @Override
+            public void onValidation(UUID player, int id) {}
+        };
+        ClientPingerListener both = new ClientPingerListener() {
+            @Override
+            public void onValidation(UUID player, int id) {}
+
+            @Override
+            public void onError(UUID player, int id) {}
+        };
+        ClientPingerListener none = new ClientPingerListener() {};
+
+        ListenerTable<ClientPingerListener> table = this.create().with(validation).with(both).with(none);
+
+        assertArrayEquals(new ClientPingerListener[]{validation, both}, table.get(ListenerTableTests.VALIDATION));
+        assertArrayEquals(new ClientPingerListener[]{both}, table.get(ListenerTableTests.ERROR));
+        assertFalse(table.has(ListenerTableTests.TIMEOUT));
+        assertEquals(3, table.all().length);
+    }
+
+    @Test
+    public void testDetach() {
+        ClientPingerListener first = new ClientPingerListener() {
+            @Override
+            public void onError(UUID player, int id) {}
+        };
+        ClientPingerListener second = new ClientPingerListener() {
+            @Override
+            public void onError(UUID player, int id) {}
+        };
+
+        ListenerTable<ClientPingerListener> table = this.create().with(first).with(second);
+        ListenerTable<ClientPingerListener> detached = table.without(first);
+
+        assertArrayEquals(new ClientPingerListener[]{second}, detached.get(ListenerTableTests.ERROR));
+        assertTrue(table.has(ListenerTableTests.ERROR));
+        assertEquals(2, table.all().length);
+
+        // Detaching an unknown listener keeps the table
+        assertSame(detached, detached.without(first));
+    }
+}
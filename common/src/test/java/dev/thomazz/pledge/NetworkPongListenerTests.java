@@ -0,0 +1,144 @@
+package dev.thomazz.pledge;
+
+import dev.thomazz.pledge.event.EventProvider;
+import dev.thomazz.pledge.network.NetworkPongListener;
+import dev.thomazz.pledge.packet.PingPacketProvider;
+import dev.thomazz.pledge.pinger.ClientPingerRegistry;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Network Pong Listener Tests")
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class NetworkPongListenerTests {
+    private static final Object PONG = "pong";
+    private static final Object PACKET = "packet";
+
+    @Mock private Pledge<Object> pledge;
+    @Mock private PingPacketProvider provider;
+    @Mock private EventProvider eventProvider;
+    @Mock private ClientPingerRegistry<Object> registry;
+
+    private final UUID player = UUID.randomUUID();
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    public void setup() {
+        when(this.pledge.getPacketProvider()).thenReturn(this.provider);
+        this.channel = new EmbeddedChannel(new NetworkPongListener(this.pledge, this.registry, this.player));
+    }
+
+    @Test
+    @Order(1)
+    public void testCancelValidated() throws Exception {
+        when(this.provider.decodePong(PONG)).thenReturn(-1);
+        when(this.pledge.eventProvider()).thenReturn(this.eventProvider);
+        when(this.pledge.cancelPongs()).thenReturn(true);
+        when(this.registry.receivePong(this.channel, -1)).thenReturn(true);
+
+        this.channel.writeInbound(PONG);
+
+        // Validated pong is cancelled, the batch still ends with the read
+        assertNull(this.channel.readInbound());
+        verify(this.eventProvider, never()).callPongReceive(any(), anyInt(), anyBoolean());
+        verify(this.registry, times(1)).flushPongs(this.channel);
+    }
+
+    @Test
+    @Order(2)
+    public void testForwardNotCancelled() throws Exception {
+        when(this.provider.decodePong(PONG)).thenReturn(-1);
+        when(this.pledge.eventProvider()).thenReturn(this.eventProvider);
+        when(this.pledge.cancelPongs()).thenReturn(false);
+        when(this.registry.receivePong(this.channel, -1)).thenReturn(true);
+
+        this.channel.writeInbound(PONG);
+
+        assertEquals(PONG, this.channel.readInbound());
+    }
+
+    @Test
+    @Order(3)
+    public void testForwardUnvalidated() throws Exception {
+        when(this.provider.decodePong(PONG)).thenReturn(-1);
+        when(this.pledge.eventProvider()).thenReturn(this.eventProvider);
+        when(this.registry.receivePong(this.channel, -1)).thenReturn(false);
+
+        this.channel.writeInbound(PONG);
+
+        // Pongs no pinger expected always reach the server
+        assertEquals(PONG, this.channel.readInbound());
+        verify(this.pledge, never()).cancelPongs();
+    }
+
+    @Test
+    @Order(4)
+    public void testEventInvalidates() throws Exception {
+        when(this.provider.decodePong(PONG)).thenReturn(-1);
+        when(this.pledge.eventProvider()).thenReturn(this.eventProvider);
+        when(this.eventProvider.hasPongListeners()).thenReturn(true);
+        when(this.eventProvider.callPongReceive(this.player, -1, true)).thenReturn(false);
+        when(this.registry.receivePong(this.channel, -1)).thenReturn(true);
+
+        this.channel.writeInbound(PONG);
+
+        // Event listeners have the final say over cancelling
+        assertEquals(PONG, this.channel.readInbound());
+        verify(this.pledge, never()).cancelPongs();
+    }
+
+    @Test
+    @Order(5)
+    public void testForwardPacket() throws Exception {
+        when(this.provider.decodePong(PACKET)).thenReturn(PingPacketProvider.NO_PONG);
+
+        this.channel.writeInbound(PACKET);
+
+        assertEquals(PACKET, this.channel.readInbound());
+        verify(this.registry, never()).receivePong(any(), anyInt());
+        verify(this.registry, never()).flushPongs(any());
+    }
+
+    @Test
+    @Order(6)
+    public void testFlushBeforePacket() throws Exception {
+        when(this.provider.decodePong(PONG)).thenReturn(-1);
+        when(this.provider.decodePong(PACKET)).thenReturn(PingPacketProvider.NO_PONG);
+        when(this.pledge.eventProvider()).thenReturn(this.eventProvider);
+        when(this.pledge.cancelPongs()).thenReturn(true);
+        when(this.registry.receivePong(this.channel, -1)).thenReturn(true);
+
+        this.channel.writeInbound(PONG, PACKET);
+
+        // Batch is flushed once, before the packet following the pong is passed on
+        assertEquals(PACKET, this.channel.readInbound());
+        assertNull(this.channel.readInbound());
+
+        InOrder order = inOrder(this.registry);
+        order.verify(this.registry).receivePong(this.channel, -1);
+        order.verify(this.registry).flushPongs(this.channel);
+        order.verifyNoMoreInteractions();
+    }
+}
@@ -75,6 +75,34 @@ public class NetworkQueueTests {
         }
     }
 
+    @Test
+    @Order(3)
+    public void testGrow() {
+        this.channel = new EmbeddedChannel(this.testHandler, this.queueHandler);
+
+        // Wrap around the ring a few times before it has to grow
+        this.queueHandler.setMode(QueueMode.ADD_LAST);
+        for (int i = 100; i < 200; i++) {
+            this.channel.writeAndFlush("test" + i);
+        }
+
+        this.queueHandler.setMode(QueueMode.ADD_FIRST);
+        for (int i = 99; i >= 0; i--) {
+            this.channel.writeAndFlush("test" + i);
+        }
+
+        assertEquals(200, this.queueHandler.size());
+        this.queueHandler.drain(this.channel.pipeline().lastContext(), true);
+        assertEquals(0, this.queueHandler.size());
+
+        int i = 0;
+        for (Object message : this.testHandler.messages) {
+            assertEquals("test" + i++, message);
+        }
+
+        assertEquals(200, i);
+    }
+
     private static class TestChannelOutboundHandler extends ChannelOutboundHandlerAdapter {
         private final Queue<Object> messages = new ConcurrentLinkedQueue<>();
 
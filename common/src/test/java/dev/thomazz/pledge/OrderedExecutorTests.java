@@ -0,0 +1,74 @@
+package dev.thomazz.pledge;
+
+import dev.thomazz.pledge.util.OrderedExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Ordered Executor Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class OrderedExecutorTests {
+    private OrderedExecutor executor;
+
+    @BeforeEach
+    public void setup() {
+        this.executor = new OrderedExecutor(Logger.getLogger("Pledge"));
+    }
+
+    @AfterEach
+    public void teardown() {
+        this.executor.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    public void testOrder() throws Exception {
+        UUID player = UUID.randomUUID();
+        List<Integer> results = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            this.executor.execute(player, () -> results.add(value));
+        }
+        this.executor.execute(player, done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, results.get(i));
+        }
+    }
+
+    @Test
+    @Order(2)
+    public void testBlockedPlayer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        // A slow listener only holds up its own player
+        this.executor.execute(UUID.randomUUID(), () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        this.executor.execute(UUID.randomUUID(), done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+}
@@ -0,0 +1,83 @@
+package dev.thomazz.pledge;
+
+import dev.thomazz.pledge.packet.PingPacketCache;
+import dev.thomazz.pledge.packet.PingPacketProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Ping Packet Cache Tests")
+public class PingPacketCacheTests {
+
+    @Test
+    public void testCachedRange() throws Exception {
+        CountingProvider provider = new CountingProvider(Short.MIN_VALUE, -1);
+        PingPacketCache cache = new PingPacketCache(provider);
+
+        for (int i = 0; i < 3; i++) {
+            for (int id = -1; id >= -200; id--) {
+                assertEquals(String.valueOf(id), cache.buildPacket(id));
+            }
+        }
+
+        // Every ID should only be built once
+        assertEquals(200, provider.built);
+        assertEquals(1 << 15, cache.capacity());
+    }
+
+    @Test
+    public void testCapacityLimit() throws Exception {
+        CountingProvider provider = new CountingProvider(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        PingPacketCache cache = new PingPacketCache(provider, 1000);
+
+        assertEquals(512, cache.capacity());
+
+        Object first = cache.buildPacket(1);
+        assertSame(first, cache.buildPacket(1));
+
+        // Colliding ID replaces the entry
+        assertEquals(String.valueOf(1 + 512), cache.buildPacket(1 + 512));
+        assertNotSame(first, cache.buildPacket(1));
+        assertEquals(3, provider.built);
+    }
+
+    private static class CountingProvider implements PingPacketProvider {
+        private final int lowerBound;
+        private final int upperBound;
+        private int built;
+
+        private CountingProvider(int lowerBound, int upperBound) {
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+        }
+
+        @Override
+        public Object buildPacket(int id) {
+            this.built++;
+            return String.valueOf(id);
+        }
+
+        @Override
+        public int idFromPong(Object packet) {
+            return Integer.parseInt((String) packet);
+        }
+
+        @Override
+        public boolean isPong(Object packet) {
+            return packet instanceof String;
+        }
+
+        @Override
+        public int getLowerBound() {
+            return this.lowerBound;
+        }
+
+        @Override
+        public int getUpperBound() {
+            return this.upperBound;
+        }
+    }
+}
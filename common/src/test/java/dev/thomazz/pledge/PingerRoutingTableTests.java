@@ -0,0 +1,83 @@
+package dev.thomazz.pledge;
+
+import dev.thomazz.pledge.packet.PingPacketProvider;
+import dev.thomazz.pledge.pinger.ClientPingerImpl;
+import dev.thomazz.pledge.pinger.PingerRoutingTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Pinger Routing Table Tests")
+public class PingerRoutingTableTests {
+    private Pledge<Object> api;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.api = mock(Pledge.class);
+        PingPacketProvider provider = mock(PingPacketProvider.class);
+
+        when(this.api.getPacketProvider()).thenReturn(provider);
+        when(provider.getUpperBound()).thenReturn(Integer.MAX_VALUE);
+        when(provider.getLowerBound()).thenReturn(Integer.MIN_VALUE + 1);
+    }
+
+    @Test
+    public void testFlatRouting() {
+        ClientPingerImpl<Object> first = new ClientPingerImpl<>(this.api, 0, -999);
+        ClientPingerImpl<Object> second = new ClientPingerImpl<>(this.api, -1500, -500);
+        ClientPingerImpl<Object> third = new ClientPingerImpl<>(this.api, 100, 200);
+
+        PingerRoutingTable table = PingerRoutingTable.build(Arrays.asList(first, second, third));
+        assertTrue(table.isFlat());
+
+        assertArrayEquals(new Object[] {first}, table.route(0));
+        assertArrayEquals(new Object[] {first}, table.route(-499));
+        assertArrayEquals(new Object[] {first, second}, table.route(-500));
+        assertArrayEquals(new Object[] {first, second}, table.route(-999));
+        assertArrayEquals(new Object[] {second}, table.route(-1000));
+        assertArrayEquals(new Object[] {second}, table.route(-1500));
+        assertArrayEquals(new Object[] {third}, table.route(150));
+
+        assertEquals(0, table.route(50).length);
+        assertEquals(0, table.route(-1501).length);
+        assertEquals(0, table.route(201).length);
+        assertEquals(0, table.route(Integer.MIN_VALUE).length);
+    }
+
+    @Test
+    public void testSegmentRouting() {
+        ClientPingerImpl<Object> low = new ClientPingerImpl<>(this.api, Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 1000);
+        ClientPingerImpl<Object> high = new ClientPingerImpl<>(this.api, Integer.MAX_VALUE, Integer.MAX_VALUE - 1000);
+        ClientPingerImpl<Object> wide = new ClientPingerImpl<>(this.api, -100000, 100000);
+
+        PingerRoutingTable table = PingerRoutingTable.build(Arrays.asList(low, high, wide));
+        assertFalse(table.isFlat());
+
+        assertArrayEquals(new Object[] {low}, table.route(Integer.MIN_VALUE + 1));
+        assertArrayEquals(new Object[] {low}, table.route(Integer.MIN_VALUE + 1000));
+        assertArrayEquals(new Object[] {high}, table.route(Integer.MAX_VALUE));
+        assertArrayEquals(new Object[] {wide}, table.route(0));
+        assertArrayEquals(new Object[] {wide}, table.route(-100000));
+
+        assertEquals(0, table.route(Integer.MIN_VALUE).length);
+        assertEquals(0, table.route(100001).length);
+        assertEquals(0, table.route(Integer.MAX_VALUE - 1001).length);
+    }
+
+    @Test
+    public void testEmpty() {
+        PingerRoutingTable table = PingerRoutingTable.build(Collections.emptyList());
+        assertEquals(0, table.route(0).length);
+    }
+}
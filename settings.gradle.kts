@@ -13,3 +13,4 @@ rootProject.name = "pledge"
 include(":sponge")
 include(":spigot")
 include(":common")
+include(":benchmarks")
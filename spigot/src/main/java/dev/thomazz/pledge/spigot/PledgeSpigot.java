@@ -2,6 +2,7 @@ package dev.thomazz.pledge.spigot;
 
 import dev.thomazz.pledge.Pledge;
 import dev.thomazz.pledge.event.EventProvider;
+import dev.thomazz.pledge.event.PingSendListener;
 import dev.thomazz.pledge.network.NetworkPongListener;
 import dev.thomazz.pledge.network.queue.PacketFiltering;
 import dev.thomazz.pledge.packet.BundleProvider;
@@ -9,11 +10,10 @@ import dev.thomazz.pledge.packet.PacketProviderFactory;
 import dev.thomazz.pledge.packet.PingPacketProvider;
 import dev.thomazz.pledge.pinger.ClientPinger;
 import dev.thomazz.pledge.pinger.ClientPingerImpl;
+import dev.thomazz.pledge.pinger.ClientPingerRegistry;
 import dev.thomazz.pledge.pinger.frame.FrameClientPinger;
 import dev.thomazz.pledge.pinger.frame.FrameClientPingerImpl;
 import dev.thomazz.pledge.spigot.event.EventProviderImpl;
-import dev.thomazz.pledge.spigot.event.PingSendEvent;
-import dev.thomazz.pledge.spigot.event.PongReceiveEvent;
 import dev.thomazz.pledge.spigot.event.TickEndEvent;
 import dev.thomazz.pledge.spigot.event.TickStartEvent;
 import dev.thomazz.pledge.spigot.reflection.ReflectionProvider;
@@ -32,17 +32,14 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.plugin.PluginManager;
-import org.bukkit.scheduler.BukkitScheduler;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 @Getter
@@ -75,10 +72,14 @@ public class PledgeSpigot implements Pledge<Player>, Listener {
     private final BukkitTask startTask;
     private final TickEndTask endTask;
 
-    private final List<ClientPingerImpl<Player>> clientPingers = new ArrayList<>();
-    private final Map<UUID, Channel> playerChannels = new HashMap<>();
+    private final ClientPingerRegistry<Player> pingerRegistry = new ClientPingerRegistry<>(this);
+    private final Map<UUID, Channel> playerChannels = new ConcurrentHashMap<>();
+
+    // Copied on write, iterated for every ping sent
+    private volatile PingSendListener[] pingSendListeners = new PingSendListener[0];
 
     private boolean cancelPongs;
+    private volatile boolean tickEvents;
 
     PledgeSpigot(Plugin plugin) {
         this.logger = plugin.getLogger();
@@ -86,12 +87,10 @@ public class PledgeSpigot implements Pledge<Player>, Listener {
         this.channelAccessProvider = new ChannelAccessProvider(this);
         this.packetProvider = PacketProviderFactory.buildPingProvider(this);
 
-        PluginManager manager = plugin.getServer().getPluginManager();
-        BukkitScheduler scheduler = plugin.getServer().getScheduler();
-
+        // Scheduler tasks run at the start of the tick, before entities and worlds are ticked
         TickEndTask.initialise(this);
-        this.startTask = scheduler.runTaskTimer(plugin, () -> manager.callEvent(new TickStartEvent()), 0L, 1L);
-        this.endTask = TickEndTask.create(() -> manager.callEvent(new TickEndEvent()));
+        this.startTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tickStart, 0L, 1L);
+        this.endTask = TickEndTask.create(this::tickEnd);
 
         // Setup for all players
         Bukkit.getOnlinePlayers().forEach(this::setupPlayer);
@@ -113,18 +112,18 @@ public class PledgeSpigot implements Pledge<Player>, Listener {
         channel.pipeline().addBefore(
             "packet_handler",
             "pledge_packet_listener",
-            new NetworkPongListener(this, player.getUniqueId())
+            new NetworkPongListener(this, this.pingerRegistry, player.getUniqueId())
         );
 
         // Register to client pingers
-        this.clientPingers.forEach(pinger -> pinger.registerPlayer(player));
+        this.pingerRegistry.registerPlayer(player, channel);
     }
 
     private void teardownPlayer(Player player) {
-        this.playerChannels.remove(player.getUniqueId());
+        Channel channel = this.playerChannels.remove(player.getUniqueId());
 
         // Unregister from client pingers
-        this.clientPingers.forEach(pinger -> pinger.unregisterPlayer(player.getUniqueId()));
+        this.pingerRegistry.unregisterPlayer(player.getUniqueId(), channel);
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
@@ -137,31 +136,22 @@ public class PledgeSpigot implements Pledge<Player>, Listener {
         this.teardownPlayer(event.getPlayer());
     }
 
-    @EventHandler(priority = EventPriority.MONITOR)
-    void onTickStart(TickStartEvent ignored) {
-        this.clientPingers.forEach(ClientPingerImpl::tickStart);
-    }
+    private void tickStart() {
+        this.eventProvider.refresh();
 
-    @EventHandler(priority = EventPriority.MONITOR)
-    void onTickStart(TickEndEvent ignored) {
-        this.clientPingers.forEach(ClientPingerImpl::tickEnd);
+        if (this.tickEvents) {
+            Bukkit.getPluginManager().callEvent(new TickStartEvent());
+        }
+
+        this.pingerRegistry.tickStart();
     }
 
-    @EventHandler(priority = EventPriority.MONITOR)
-    void onPongReceive(PongReceiveEvent event) {
-        UUID player = event.getPlayer();
-        int id = event.getId();
-
-        this.clientPingers.stream()
-            .filter(pinger -> pinger.isInRange(id))
-            .forEach(
-                pinger -> pinger.getPingData(player)
-                    .flatMap(data -> data.confirm(id))
-                    .ifPresentOrElse(pong -> {
-                        pinger.onReceive(player, pong);
-                        event.setValidated(true);
-                    }, () -> pinger.onError(player, id))
-            );
+    private void tickEnd() {
+        if (this.tickEvents) {
+            Bukkit.getPluginManager().callEvent(new TickEndEvent());
+        }
+
+        this.pingerRegistry.tickEnd();
     }
 
     @Override
@@ -174,6 +164,16 @@ public class PledgeSpigot implements Pledge<Player>, Listener {
         this.cancelPongs = cancelPongs;
     }
 
+    @Override
+    public void tickEvents(boolean tickEvents) {
+        this.tickEvents = tickEvents;
+    }
+
+    @Override
+    public void pingEvents(boolean pingEvents) {
+        this.eventProvider.setEnabled(pingEvents);
+    }
+
     @Override
     public void sendPing(@NotNull UUID player, int id) {
         // Keep within ranges
@@ -192,7 +192,14 @@ public class PledgeSpigot implements Pledge<Player>, Listener {
     public void sendPingRaw(@NotNull UUID player, @NotNull Channel channel, int pingId) {
         try {
             Object packet = this.packetProvider.buildPacket(pingId);
-            Bukkit.getPluginManager().callEvent(new PingSendEvent(player, pingId));
+            for (PingSendListener listener : this.pingSendListeners) {
+                listener.onPingSend(player, pingId);
+            }
+
+            if (this.eventProvider.hasPingSendListeners()) {
+                this.eventProvider.callPingSend(player, pingId);
+            }
+
             channel.write(packet);
         } catch (Exception ex) {
             this.logger.severe(String.format("Failed to send ping! Player:%s Id:%o", player, pingId));
@@ -200,6 +207,13 @@ public class PledgeSpigot implements Pledge<Player>, Listener {
         }
     }
 
+    @Override
+    public synchronized void attach(@NotNull PingSendListener listener) {
+        PingSendListener[] listeners = Arrays.copyOf(this.pingSendListeners, this.pingSendListeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        this.pingSendListeners = listeners;
+    }
+
     @Override
     public Optional<Channel> getChannel(@NotNull UUID player) {
         return Optional.ofNullable(this.playerChannels.get(player));
@@ -208,14 +222,14 @@ public class PledgeSpigot implements Pledge<Player>, Listener {
     @Override
     public ClientPinger<Player> createPinger(int startId, int endId) {
         ClientPingerImpl<Player> pinger = new ClientPingerImpl<>(this, startId, endId);
-        this.clientPingers.add(pinger);
+        this.pingerRegistry.addPinger(pinger);
         return pinger;
     }
 
     @Override
     public FrameClientPinger<Player> createFramePinger(int startId, int endId) {
         FrameClientPingerImpl<Player> pinger = new FrameClientPingerImpl<>(this, startId, endId);
-        this.clientPingers.add(pinger);
+        this.pingerRegistry.addPinger(pinger);
         return pinger;
     }
 
@@ -236,6 +250,7 @@ public class PledgeSpigot implements Pledge<Player>, Listener {
         HandlerList.unregisterAll(this);
         this.startTask.cancel();
         this.endTask.cancel();
+        this.pingerRegistry.shutdown();
 
         PledgeSpigot.instance = null;
     }
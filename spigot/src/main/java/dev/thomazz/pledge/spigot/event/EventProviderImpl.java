@@ -1,16 +1,48 @@
 package dev.thomazz.pledge.spigot.event;
 
 import dev.thomazz.pledge.event.EventProvider;
+import lombok.Setter;
 import org.bukkit.Bukkit;
 
 import java.util.UUID;
 
 public class EventProviderImpl implements EventProvider {
 
+    // Listener registrations are checked once every tick instead of for every ping and pong
+    private volatile boolean pongListeners;
+    private volatile boolean pingSendListeners;
+
+    @Setter
+    private volatile boolean enabled = true;
+
+    public EventProviderImpl() {
+        this.refresh();
+    }
+
+    public void refresh() {
+        this.pongListeners = PongReceiveEvent.getHandlerList().getRegisteredListeners().length > 0;
+        this.pingSendListeners = PingSendEvent.getHandlerList().getRegisteredListeners().length > 0;
+    }
+
     @Override
-    public boolean callPongReceive(UUID player, int id) {
-        final PongReceiveEvent event = new PongReceiveEvent(player, id);
+    public boolean hasPongListeners() {
+        return this.enabled && this.pongListeners;
+    }
+
+    @Override
+    public boolean callPongReceive(UUID player, int id, boolean validated) {
+        final PongReceiveEvent event = new PongReceiveEvent(player, id, validated);
         Bukkit.getPluginManager().callEvent(event);
         return event.isValidated();
     }
+
+    @Override
+    public boolean hasPingSendListeners() {
+        return this.enabled && this.pingSendListeners;
+    }
+
+    @Override
+    public void callPingSend(UUID player, int id) {
+        Bukkit.getPluginManager().callEvent(new PingSendEvent(player, id));
+    }
 }
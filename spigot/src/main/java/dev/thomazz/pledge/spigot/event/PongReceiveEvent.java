@@ -12,6 +12,7 @@ import java.util.UUID;
 
 /**
  * Called when a pong packet is received from a {@link Player}
+ * Validated is already set if the pong was expected by any Pledge client pinger.
  * Note: Executed from netty thread
  */
 @Getter
@@ -30,6 +31,11 @@ public class PongReceiveEvent extends Event implements Cancellable {
         this.id = id;
     }
 
+    public PongReceiveEvent(UUID player, int id, boolean validated) {
+        this(player, id);
+        this.isValidated = validated;
+    }
+
     @NotNull
     @Override
     public HandlerList getHandlers() {
@@ -6,6 +6,7 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * Called at the end of a server tick.
+ * Only called when enabled with {@link dev.thomazz.pledge.Pledge#tickEvents(boolean)}.
  */
 public class TickEndEvent extends Event {
     private static final HandlerList handlers = new HandlerList();
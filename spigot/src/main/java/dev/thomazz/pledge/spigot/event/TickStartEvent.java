@@ -5,7 +5,7 @@ import org.bukkit.event.HandlerList;
 import org.jetbrains.annotations.NotNull;
 
 /**
- * Called at the start of a server tick.
+ * Called at the start of every server tick from the server scheduler, only when enabled with {@link dev.thomazz.pledge.Pledge#tickEvents(boolean)}.
  */
 public class TickStartEvent extends Event {
     private static final HandlerList handlers = new HandlerList();
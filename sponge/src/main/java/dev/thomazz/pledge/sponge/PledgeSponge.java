@@ -2,6 +2,7 @@ package dev.thomazz.pledge.sponge;
 
 import dev.thomazz.pledge.Pledge;
 import dev.thomazz.pledge.event.EventProvider;
+import dev.thomazz.pledge.event.PingSendListener;
 import dev.thomazz.pledge.network.NetworkPongListener;
 import dev.thomazz.pledge.network.queue.PacketFiltering;
 import dev.thomazz.pledge.packet.BundleProvider;
@@ -9,11 +10,10 @@ import dev.thomazz.pledge.packet.PacketProviderFactory;
 import dev.thomazz.pledge.packet.PingPacketProvider;
 import dev.thomazz.pledge.pinger.ClientPinger;
 import dev.thomazz.pledge.pinger.ClientPingerImpl;
+import dev.thomazz.pledge.pinger.ClientPingerRegistry;
 import dev.thomazz.pledge.pinger.frame.FrameClientPinger;
 import dev.thomazz.pledge.pinger.frame.FrameClientPingerImpl;
 import dev.thomazz.pledge.sponge.event.EventProviderImpl;
-import dev.thomazz.pledge.sponge.event.PingSendEvent;
-import dev.thomazz.pledge.sponge.event.PongReceiveEvent;
 import dev.thomazz.pledge.sponge.event.TickEndEvent;
 import dev.thomazz.pledge.sponge.event.TickStartEvent;
 import dev.thomazz.pledge.sponge.reflection.ReflectionProvider;
@@ -27,24 +27,21 @@ import org.jetbrains.annotations.NotNull;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.entity.living.player.server.ServerPlayer;
-import org.spongepowered.api.event.EventManager;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.network.ServerSideConnectionEvent;
 import org.spongepowered.api.network.ServerSideConnection;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.scheduler.ScheduledTask;
-import org.spongepowered.api.scheduler.Scheduler;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.util.Ticks;
 import org.spongepowered.plugin.PluginContainer;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 @Getter
@@ -77,10 +74,14 @@ public class PledgeSponge implements Pledge<User> {
     private final ScheduledTask startTask;
     private final TickEndTask endTask;
 
-    private final List<ClientPingerImpl<User>> clientPingers = new ArrayList<>();
-    private final Map<UUID, Channel> playerChannels = new HashMap<>();
+    private final ClientPingerRegistry<User> pingerRegistry = new ClientPingerRegistry<>(this);
+    private final Map<UUID, Channel> playerChannels = new ConcurrentHashMap<>();
+
+    // Copied on write, iterated for every ping sent
+    private volatile PingSendListener[] pingSendListeners = new PingSendListener[0];
 
     private boolean cancelPongs;
+    private volatile boolean tickEvents;
 
     PledgeSponge(PluginContainer plugin) {
         this.logger = Logger.getLogger(plugin.metadata().id());
@@ -88,13 +89,11 @@ public class PledgeSponge implements Pledge<User> {
         this.channelAccessProvider = new ChannelAccessProvider(this);
         this.packetProvider = PacketProviderFactory.buildPingProvider(this);
 
-        final EventManager eventManager = Sponge.eventManager();
-        final Scheduler scheduler = Sponge.server().scheduler();
-
+        // Scheduler tasks run at the start of the tick, before entities and worlds are ticked
         TickEndTask.initialise(this);
-        this.startTask = scheduler.submit(Task.builder().plugin(plugin)
-                .interval(Ticks.single()).execute(() -> eventManager.post(new TickStartEvent())).build(), "Pledge Tick Start");
-        this.endTask = TickEndTask.create(() -> eventManager.post(new TickEndEvent()));
+        this.startTask = Sponge.server().scheduler().submit(Task.builder().plugin(plugin)
+                .interval(Ticks.single()).execute(this::tickStart).build(), "Pledge Tick Start");
+        this.endTask = TickEndTask.create(this::tickEnd);
 
         // Setup for all players
         Sponge.server().onlinePlayers().forEach(player -> this.setupPlayer(player.user(), player.connection()));
@@ -112,18 +111,18 @@ public class PledgeSponge implements Pledge<User> {
         channel.pipeline().addBefore(
             "packet_handler",
             "pledge_packet_listener",
-            new NetworkPongListener(this, player.uniqueId())
+            new NetworkPongListener(this, this.pingerRegistry, player.uniqueId())
         );
 
         // Register to client pingers
-        this.clientPingers.forEach(pinger -> pinger.registerPlayer(player));
+        this.pingerRegistry.registerPlayer(player, channel);
     }
 
     private void teardownPlayer(GameProfile profile) {
-        this.playerChannels.remove(profile.uniqueId());
+        Channel channel = this.playerChannels.remove(profile.uniqueId());
 
         // Unregister from client pingers
-        this.clientPingers.forEach(pinger -> pinger.unregisterPlayer(profile.uniqueId()));
+        this.pingerRegistry.unregisterPlayer(profile.uniqueId(), channel);
     }
 
     @Listener(order = Order.LATE)
@@ -136,31 +135,20 @@ public class PledgeSponge implements Pledge<User> {
         event.profile().ifPresent(this::teardownPlayer);
     }
 
-    @Listener(order = Order.LATE)
-    void onTickStart(TickStartEvent ignored) {
-        this.clientPingers.forEach(ClientPingerImpl::tickStart);
-    }
+    private void tickStart() {
+        if (this.tickEvents) {
+            Sponge.eventManager().post(new TickStartEvent());
+        }
 
-    @Listener(order = Order.LATE)
-    void onTickStart(TickEndEvent ignored) {
-        this.clientPingers.forEach(ClientPingerImpl::tickEnd);
+        this.pingerRegistry.tickStart();
     }
 
-    @Listener(order = Order.LATE)
-    void onPongReceive(PongReceiveEvent event) {
-        UUID player = event.getPlayer();
-        int id = event.getId();
-
-        this.clientPingers.stream()
-            .filter(pinger -> pinger.isInRange(id))
-            .forEach(
-                pinger -> pinger.getPingData(player)
-                    .flatMap(data -> data.confirm(id))
-                    .ifPresentOrElse(pong -> {
-                        pinger.onReceive(player, pong);
-                        event.setValidated(true);
-                    }, () -> pinger.onError(player, id))
-            );
+    private void tickEnd() {
+        if (this.tickEvents) {
+            Sponge.eventManager().post(new TickEndEvent());
+        }
+
+        this.pingerRegistry.tickEnd();
     }
 
     @Override
@@ -173,6 +161,16 @@ public class PledgeSponge implements Pledge<User> {
         this.cancelPongs = cancelPongs;
     }
 
+    @Override
+    public void tickEvents(boolean tickEvents) {
+        this.tickEvents = tickEvents;
+    }
+
+    @Override
+    public void pingEvents(boolean pingEvents) {
+        this.eventProvider.setEnabled(pingEvents);
+    }
+
     @Override
     public void sendPing(@NotNull UUID player, int id) {
         // Keep within ranges
@@ -191,7 +189,14 @@ public class PledgeSponge implements Pledge<User> {
     public void sendPingRaw(@NotNull UUID player, @NotNull Channel channel, int pingId) {
         try {
             Object packet = this.packetProvider.buildPacket(pingId);
-            Sponge.eventManager().post(new PingSendEvent(player, pingId));
+            for (PingSendListener listener : this.pingSendListeners) {
+                listener.onPingSend(player, pingId);
+            }
+
+            if (this.eventProvider.hasPingSendListeners()) {
+                this.eventProvider.callPingSend(player, pingId);
+            }
+
             channel.write(packet);
         } catch (Exception ex) {
             this.logger.severe(String.format("Failed to send ping! Player:%s Id:%o", player, pingId));
@@ -199,6 +204,13 @@ public class PledgeSponge implements Pledge<User> {
         }
     }
 
+    @Override
+    public synchronized void attach(@NotNull PingSendListener listener) {
+        PingSendListener[] listeners = Arrays.copyOf(this.pingSendListeners, this.pingSendListeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        this.pingSendListeners = listeners;
+    }
+
     @Override
     public Optional<Channel> getChannel(@NotNull UUID player) {
         return Optional.ofNullable(this.playerChannels.get(player));
@@ -207,14 +219,14 @@ public class PledgeSponge implements Pledge<User> {
     @Override
     public ClientPinger<User> createPinger(int startId, int endId) {
         ClientPingerImpl<User> pinger = new ClientPingerImpl<>(this, startId, endId);
-        this.clientPingers.add(pinger);
+        this.pingerRegistry.addPinger(pinger);
         return pinger;
     }
 
     @Override
     public FrameClientPinger<User> createFramePinger(int startId, int endId) {
         FrameClientPingerImpl<User> pinger = new FrameClientPingerImpl<>(this, startId, endId);
-        this.clientPingers.add(pinger);
+        this.pingerRegistry.addPinger(pinger);
         return pinger;
     }
 
@@ -235,6 +247,7 @@ public class PledgeSponge implements Pledge<User> {
         Sponge.eventManager().unregisterListeners(this);
         this.startTask.cancel();
         this.endTask.cancel();
+        this.pingerRegistry.shutdown();
 
         PledgeSponge.instance = null;
     }
@@ -1,16 +1,36 @@
 package dev.thomazz.pledge.sponge.event;
 
 import dev.thomazz.pledge.event.EventProvider;
+import lombok.Setter;
 import org.spongepowered.api.Sponge;
 
 import java.util.UUID;
 
 public class EventProviderImpl implements EventProvider {
 
+    // Sponge has no way to check for registered listeners, so events are only posted once enabled
+    @Setter
+    private volatile boolean enabled;
+
     @Override
-    public boolean callPongReceive(UUID player, int id) {
-        final PongReceiveEvent event = new PongReceiveEvent(player, id);
+    public boolean hasPongListeners() {
+        return this.enabled;
+    }
+
+    @Override
+    public boolean callPongReceive(UUID player, int id, boolean validated) {
+        final PongReceiveEvent event = new PongReceiveEvent(player, id, validated);
         Sponge.eventManager().post(event);
         return event.isValidated();
     }
+
+    @Override
+    public boolean hasPingSendListeners() {
+        return this.enabled;
+    }
+
+    @Override
+    public void callPingSend(UUID player, int id) {
+        Sponge.eventManager().post(new PingSendEvent(player, id));
+    }
 }
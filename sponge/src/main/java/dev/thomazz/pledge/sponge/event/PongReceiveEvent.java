@@ -11,6 +11,7 @@ import java.util.UUID;
 
 /**
  * Called when a pong packet is received from a {@link org.spongepowered.api.entity.living.player.server.ServerPlayer}
+ * Validated is already set if the pong was expected by any Pledge client pinger.
  * Note: Executed from netty thread
  */
 @Getter
@@ -29,6 +30,11 @@ public class PongReceiveEvent extends AbstractEvent implements Cancellable {
         this.cause = Cause.of(EventContext.empty(), player);
     }
 
+    public PongReceiveEvent(UUID player, int id, boolean validated) {
+        this(player, id);
+        this.isValidated = validated;
+    }
+
     @Override
     public Cause cause() {
         return cause;
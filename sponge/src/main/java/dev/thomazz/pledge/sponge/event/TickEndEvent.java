@@ -7,6 +7,7 @@ import org.spongepowered.api.event.impl.AbstractEvent;
 
 /**
  * Called at the end of a server tick.
+ * Only called when enabled with {@link dev.thomazz.pledge.Pledge#tickEvents(boolean)}.
  */
 public class TickEndEvent extends AbstractEvent {
 
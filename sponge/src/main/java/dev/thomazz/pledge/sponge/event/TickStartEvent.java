@@ -6,7 +6,7 @@ import org.spongepowered.api.event.EventContext;
 import org.spongepowered.api.event.impl.AbstractEvent;
 
 /**
- * Called at the start of a server tick.
+ * Called at the start of every server tick from the server scheduler, only when enabled with {@link dev.thomazz.pledge.Pledge#tickEvents(boolean)}.
  */
 public class TickStartEvent extends AbstractEvent {
 
@@ -3,6 +3,7 @@ package dev.thomazz.pledge;
 import dev.thomazz.pledge.packet.PingPacketProvider;
 import dev.thomazz.pledge.pinger.ClientPingerImpl;
 import dev.thomazz.pledge.pinger.ClientPingerListener;
+import dev.thomazz.pledge.pinger.ClientPingerRegistry;
 import dev.thomazz.pledge.pinger.data.PingData;
 import dev.thomazz.pledge.pinger.frame.FrameClientPingerImpl;
 import dev.thomazz.pledge.pinger.frame.FrameClientPingerListener;
@@ -26,6 +27,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -44,6 +46,7 @@ public class ClientPingerTests {
     @Mock private User player;
 
     private EmbeddedChannel channel;
+    private ClientPingerRegistry<User> registry;
 
     @BeforeEach
     public void setupMocks() {
@@ -54,16 +57,23 @@ public class ClientPingerTests {
         when(this.provider.getLowerBound()).thenReturn(-999);
     }
 
+    // Drives the pinger through its own registry, like the platform does
+    private void register(ClientPingerImpl<User> pinger) {
+        this.registry = new ClientPingerRegistry<>(this.clientPing);
+        this.registry.addPinger(pinger);
+        this.registry.registerPlayer(this.player, this.channel);
+    }
+
     @Test
     @Order(1)
     public void testSimpleClientPinger() {
         ClientPingerImpl<User> pinger = new ClientPingerImpl<>(this.clientPing, 0, -999);
-        pinger.registerPlayer(this.player);
+        this.register(pinger);
         PingData pingData = pinger.getPingData(this.player.uniqueId()).orElseThrow(IllegalStateException::new);
 
         for (int i = 0; i < 200; i++) {
-            pinger.tickStart();
-            pinger.tickEnd();
+            this.registry.tickStart();
+            this.registry.tickEnd();
             this.channel.runPendingTasks();
         }
 
@@ -71,14 +81,14 @@ public class ClientPingerTests {
         assertEquals(-400, pingData.getId());
 
         for (int i = 0; i > -400; i--) {
-            if (!pingData.confirm(i).isPresent()) {
+            if (pingData.confirm(i) == PingData.NO_MATCH) {
                 fail("Not found: " + i);
             }
         }
 
         for (int i = 0; i < 400; i++) {
-            pinger.tickStart();
-            pinger.tickEnd();
+            this.registry.tickStart();
+            this.registry.tickEnd();
             this.channel.runPendingTasks();
         }
 
@@ -92,15 +102,15 @@ public class ClientPingerTests {
         this.channel.pipeline().addFirst("prepender", new ChannelOutboundHandlerAdapter());
 
         FrameClientPingerImpl<User> pinger = new FrameClientPingerImpl<>(this.clientPing, 0, -999);
-        pinger.registerPlayer(this.player);
+        this.register(pinger);
 
         PingData pingData = pinger.getPingData(this.player.uniqueId()).orElseThrow(IllegalStateException::new);
         FrameData frameData = pinger.getFrameData(this.player.uniqueId()).orElseThrow(IllegalStateException::new);
 
         for (int i = 0; i < 200; i++) {
-            pinger.tickStart();
+            this.registry.tickStart();
             pinger.getOrCreate(this.player.uniqueId());
-            pinger.tickEnd();
+            this.registry.tickEnd();
             this.channel.runPendingTasks();
         }
 
@@ -109,14 +119,14 @@ public class ClientPingerTests {
 
         boolean toggle = true;
         for (int i = 0; i > -400; i--) {
-            Optional<Frame> frame;
+            Frame frame;
             if (toggle) {
                 frame = frameData.matchStart(i);
             } else {
                 frame = frameData.matchEnd(i);
             }
 
-            if (!frame.isPresent()) {
+            if (frame == null) {
                 fail("Not found: " + i);
             }
 
@@ -128,9 +138,9 @@ public class ClientPingerTests {
         }
 
         for (int i = 0; i < 400; i++) {
-            pinger.tickStart();
+            this.registry.tickStart();
             pinger.getOrCreate(this.player.uniqueId());
-            pinger.tickEnd();
+            this.registry.tickEnd();
             this.channel.runPendingTasks();
         }
 
@@ -143,7 +153,7 @@ public class ClientPingerTests {
     public void testClientPingerListener() {
         final UUID uuid = player.uniqueId();
         ClientPingerImpl<User> pinger = new ClientPingerImpl<>(this.clientPing, 0, -999);
-        pinger.registerPlayer(this.player);
+        this.register(pinger);
 
         PingData pingData = pinger.getPingData(uuid).orElseThrow(IllegalStateException::new);
 
@@ -151,15 +161,15 @@ public class ClientPingerTests {
         pinger.attach(listener);
 
         for (int i = 0; i < 2; i++) {
-            pinger.tickStart();
-            pinger.tickEnd();
+            this.registry.tickStart();
+            this.registry.tickEnd();
             this.channel.runPendingTasks();
         }
 
-        pinger.onReceive(uuid, pingData.confirm(0).orElseThrow(IllegalStateException::new));
-        pinger.onReceive(uuid, pingData.confirm(-1).orElseThrow(IllegalStateException::new));
-        pinger.onReceive(uuid, pingData.confirm(-2).orElseThrow(IllegalStateException::new));
-        pinger.onReceive(uuid, pingData.confirm(-3).orElseThrow(IllegalStateException::new));
+        assertTrue(pinger.receivePong(this.channel, pingData, 0));
+        assertTrue(pinger.receivePong(this.channel, pingData, -1));
+        assertTrue(pinger.receivePong(this.channel, pingData, -2));
+        assertTrue(pinger.receivePong(this.channel, pingData, -3));
 
         verify(listener, times(1)).onValidation(eq(uuid), anyInt());
         verify(listener, times(2)).onPingSendStart(eq(uuid), anyInt());
@@ -175,7 +185,7 @@ public class ClientPingerTests {
 
         final UUID uuid = player.uniqueId();
         FrameClientPingerImpl<User> pinger = new FrameClientPingerImpl<>(this.clientPing, 0, -999);
-        pinger.registerPlayer(this.player);
+        this.register(pinger);
 
         PingData pingData = pinger.getPingData(uuid).orElseThrow(IllegalStateException::new);
 
@@ -183,16 +193,16 @@ public class ClientPingerTests {
         pinger.attach(listener);
 
         for (int i = 0; i < 2; i++) {
-            pinger.tickStart();
+            this.registry.tickStart();
             pinger.getOrCreate(uuid);
-            pinger.tickEnd();
+            this.registry.tickEnd();
             this.channel.runPendingTasks();
         }
 
-        pinger.onReceive(uuid, pingData.confirm(0).orElseThrow(IllegalStateException::new));
-        pinger.onReceive(uuid, pingData.confirm(-1).orElseThrow(IllegalStateException::new));
-        pinger.onReceive(uuid, pingData.confirm(-2).orElseThrow(IllegalStateException::new));
-        pinger.onReceive(uuid, pingData.confirm(-3).orElseThrow(IllegalStateException::new));
+        assertTrue(pinger.receivePong(this.channel, pingData, 0));
+        assertTrue(pinger.receivePong(this.channel, pingData, -1));
+        assertTrue(pinger.receivePong(this.channel, pingData, -2));
+        assertTrue(pinger.receivePong(this.channel, pingData, -3));
 
         verify(listener, times(1)).onValidation(eq(uuid), anyInt());
         verify(listener, times(2)).onPingSendStart(eq(uuid), anyInt());
@@ -205,4 +215,4 @@ public class ClientPingerTests {
         verify(listener, times(2)).onFrameReceiveStart(eq(uuid), any());
         verify(listener, times(2)).onFrameReceiveEnd(eq(uuid), any());
     }
-}
\ No newline at end of file
+}